@@ -0,0 +1,165 @@
+package familiarfauna.client.ambient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityButterfly;
+import familiarfauna.entities.EntityDragonfly;
+import familiarfauna.init.ModConfiguration;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// On servers with client-side insects, butterflies and dragonflies only exist here. Every so often one is put into
+// the client world somewhere around the player, in a biome its species' list allows, and they're dropped again once
+// the player leaves them behind. They're ordinary entities running their usual flight AI, just ticked by the client
+// instead of the server, so the server has nothing to tick, track, sync or save. Netting one asks the server to
+// fill the habitat (see MessageCatchAmbientInsect).
+@SideOnly(Side.CLIENT)
+public class AmbientInsects
+{
+    private static final int SPAWN_INTERVAL = 20;
+    private static final double SPAWN_RADIUS = 24.0D;
+    // insects don't appear right next to the player
+    private static final double MIN_SPAWN_DISTANCE = 8.0D;
+    private static final double DESPAWN_DISTANCE = 48.0D;
+
+    private static final Set<String> BUTTERFLY_BIOMES = new HashSet<String>(ModConfiguration.butterflyBiomeList);
+    private static final Set<String> DRAGONFLY_BIOMES = new HashSet<String>(ModConfiguration.dragonflyBiomeList);
+    private static final List<EntityLiving> INSECTS = new ArrayList<EntityLiving>();
+
+    // the server never hears of these, so their ids count down from well below anything it hands out. Interacting with
+    // an entity also sends its id to the server, which then finds nothing there.
+    private static int nextEntityId = -1000000;
+    private static boolean enabled;
+    private static World world;
+
+    public static void setEnabled(boolean enabledIn)
+    {
+        enabled = enabledIn;
+
+        if (!enabled)
+        {
+            clear();
+        }
+    }
+
+    public static void onClientTick()
+    {
+        Minecraft minecraft = Minecraft.getMinecraft();
+
+        if (minecraft.world != world)
+        {
+            clear();
+            world = minecraft.world;
+
+            // left the server, the next one will say whether it wants insects
+            if (world == null)
+            {
+                enabled = false;
+            }
+        }
+
+        EntityPlayer player = minecraft.player;
+
+        if (!enabled || world == null || player == null || minecraft.isGamePaused())
+        {
+            return;
+        }
+
+        for (int i = INSECTS.size() - 1; i >= 0; --i)
+        {
+            EntityLiving insect = INSECTS.get(i);
+
+            if (insect.isDead || insect.getDistanceSq(player) > DESPAWN_DISTANCE * DESPAWN_DISTANCE)
+            {
+                insect.setDead();
+                INSECTS.remove(i);
+            }
+        }
+
+        if (world.getTotalWorldTime() % SPAWN_INTERVAL == 0 && INSECTS.size() < ConfigurationHandler.ambientInsectCount)
+        {
+            trySpawn(player);
+        }
+    }
+
+    public static int getCount()
+    {
+        return INSECTS.size();
+    }
+
+    private static void trySpawn(EntityPlayer player)
+    {
+        Random rand = world.rand;
+        int x = MathHelper.floor(player.posX + (rand.nextDouble() * 2.0D - 1.0D) * SPAWN_RADIUS);
+        int z = MathHelper.floor(player.posZ + (rand.nextDouble() * 2.0D - 1.0D) * SPAWN_RADIUS);
+        BlockPos pos = new BlockPos(x, 0, z);
+
+        if (!world.isBlockLoaded(pos))
+        {
+            return;
+        }
+
+        // a block or two above the ground
+        pos = world.getHeight(pos).up(rand.nextInt(2));
+
+        if (player.getDistanceSq(pos) < MIN_SPAWN_DISTANCE * MIN_SPAWN_DISTANCE)
+        {
+            return;
+        }
+
+        String biome = world.getBiome(pos).getRegistryName().toString();
+        boolean butterfly = ConfigurationHandler.butterflyEnable && BUTTERFLY_BIOMES.contains(biome);
+        boolean dragonfly = ConfigurationHandler.dragonflyEnable && DRAGONFLY_BIOMES.contains(biome);
+        EntityLiving insect;
+
+        if (butterfly && (!dragonfly || rand.nextBoolean()))
+        {
+            EntityButterfly entity = new EntityButterfly(world);
+            entity.setAmbient();
+            insect = entity;
+        }
+        else if (dragonfly)
+        {
+            EntityDragonfly entity = new EntityDragonfly(world);
+            entity.setAmbient();
+            insect = entity;
+        }
+        else
+        {
+            return;
+        }
+
+        insect.setLocationAndAngles((double)pos.getX() + 0.5D, (double)pos.getY(), (double)pos.getZ() + 0.5D, rand.nextFloat() * 360.0F, 0.0F);
+
+        if (!insect.getCanSpawnHere() || !insect.isNotColliding())
+        {
+            return;
+        }
+
+        insect.setEntityId(nextEntityId--);
+        insect.onInitialSpawn(world.getDifficultyForLocation(pos), null);
+        world.spawnEntity(insect);
+        INSECTS.add(insect);
+    }
+
+    private static void clear()
+    {
+        for (EntityLiving insect : INSECTS)
+        {
+            insect.setDead();
+        }
+
+        INSECTS.clear();
+    }
+}
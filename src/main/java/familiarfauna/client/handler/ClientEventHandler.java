@@ -0,0 +1,65 @@
+package familiarfauna.client.handler;
+
+import familiarfauna.client.ambient.AmbientInsects;
+import familiarfauna.client.render.PreTranslucentPass;
+import familiarfauna.entities.render.FlyerBillboards;
+import familiarfauna.entities.render.VariantAtlas;
+import familiarfauna.particle.FFParticleBudget;
+import familiarfauna.particle.FFParticleRenderer;
+import familiarfauna.particle.FFParticleSprites;
+import familiarfauna.particle.FFTrailParticles;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.client.event.TextureStitchEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public class ClientEventHandler
+{
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.START)
+        {
+            FFParticleBudget.onClientTick();
+            AmbientInsects.onClientTick();
+            PreTranslucentPass.onClientTick();
+        }
+        else if (!Minecraft.getMinecraft().isGamePaused())
+        {
+            FFTrailParticles.tick();
+        }
+    }
+
+    @SubscribeEvent
+    public void onTextureStitch(TextureStitchEvent.Pre event)
+    {
+        FFParticleSprites.registerSprites(event.getMap());
+        FlyerBillboards.registerSprites(event.getMap());
+    }
+
+    @SubscribeEvent
+    public void onRenderWorldLast(RenderWorldLastEvent event)
+    {
+        PreTranslucentPass.onRenderWorldLast(event.getPartialTicks());
+        VariantAtlas.endFrame();
+    }
+
+    @SubscribeEvent
+    public void onDebugOverlay(RenderGameOverlayEvent.Text event)
+    {
+        if (Minecraft.getMinecraft().gameSettings.showDebugInfo)
+        {
+            event.getLeft().add("FamiliarFauna particles: " + FFParticleBudget.getLive() + " live, " + FFParticleBudget.getDropped() + " dropped");
+            event.getLeft().add("FamiliarFauna particle pass: " + FFParticleRenderer.getLastQuads() + " quads in 1 draw, " + FFParticleRenderer.getLastStateChangesSaved() + " state changes saved");
+            event.getLeft().add("FamiliarFauna flyer textures: " + VariantAtlas.getLastBinds() + " binds, " + VariantAtlas.getLastVariantBinds() + " with a texture per variant");
+            event.getLeft().add("FamiliarFauna flyer billboards: " + FlyerBillboards.getLastCount());
+            event.getLeft().add("FamiliarFauna client-side insects: " + AmbientInsects.getCount());
+            event.getLeft().add("FamiliarFauna trail sim: " + FFTrailParticles.getCount(Minecraft.getMinecraft().world) + "/" + FFTrailParticles.getCapacity() + " slots, " + FFTrailParticles.getTickMicros() + " us/tick");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package familiarfauna.client.render;
+
+import familiarfauna.entities.render.FlyerBillboards;
+import familiarfauna.particle.FFParticleRenderer;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Our batched passes that belong with the entities: drawn after them, with the world's fog, and before rain, water and
+// other translucent blocks are drawn over them. Forge has no event at that point, but the particle manager draws its
+// lit particle layer right there, so a HookParticle that never expires is kept in that layer to run the passes.
+// The particle manager drops the oldest particle of a full layer without expiring it, so a frame the hook didn't run
+// in is caught on RenderWorldLastEvent: the passes are drawn late for that frame and a new hook is put in.
+@SideOnly(Side.CLIENT)
+public class PreTranslucentPass
+{
+    private static HookParticle hook;
+    private static boolean ranThisFrame;
+
+    // called at the start of every client tick, puts the hook in again after the particle manager is cleared
+    public static void onClientTick()
+    {
+        Minecraft minecraft = Minecraft.getMinecraft();
+
+        if (minecraft.world != null && (hook == null || hook.getWorld() != minecraft.world))
+        {
+            addHook(minecraft);
+        }
+    }
+
+    // called on RenderWorldLastEvent
+    public static void onRenderWorldLast(float partialTicks)
+    {
+        if (!ranThisFrame)
+        {
+            render(partialTicks);
+            // vanilla has turned the fog off again by now
+            GlStateManager.disableFog();
+
+            // a hook that has run before and didn't this frame has been dropped, one that hasn't yet is still queued
+            Minecraft minecraft = Minecraft.getMinecraft();
+
+            if (hook != null && hook.hasRun && minecraft.world != null)
+            {
+                addHook(minecraft);
+            }
+        }
+
+        ranThisFrame = false;
+    }
+
+    private static void addHook(Minecraft minecraft)
+    {
+        if (hook != null)
+        {
+            hook.setExpired();
+        }
+
+        hook = new HookParticle(minecraft.world);
+        minecraft.effectRenderer.addEffect(hook);
+    }
+
+    private static void render(float partialTicks)
+    {
+        GlStateManager.enableFog();
+        FlyerBillboards.render(partialTicks);
+        FFParticleRenderer.renderParticles(partialTicks);
+    }
+
+    private static class HookParticle extends Particle
+    {
+        private boolean hasRun;
+
+        private HookParticle(World world)
+        {
+            super(world, 0.0D, 0.0D, 0.0D);
+        }
+
+        public World getWorld()
+        {
+            return this.world;
+        }
+
+        // it's never moved or aged, so it stays until the particle manager is cleared or drops it
+        @Override
+        public void onUpdate() {}
+
+        @Override
+        public int getFXLayer()
+        {
+            return 3;
+        }
+
+        @Override
+        public void renderParticle(BufferBuilder buffer, Entity entity, float partialTicks, float rotationX, float rotationZ, float rotationYZ, float rotationXY, float rotationXZ)
+        {
+            if (this != hook || ranThisFrame)
+            {
+                return;
+            }
+
+            this.hasRun = true;
+            ranThisFrame = true;
+            render(partialTicks);
+
+            // the particles after ours are drawn with the lightmap the passes turned off
+            Minecraft.getMinecraft().entityRenderer.enableLightmap();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package familiarfauna.command;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Lists;
+
+import familiarfauna.entities.ai.EntityAISnailCrawl;
+import familiarfauna.entities.ai.FlightLod;
+import familiarfauna.entities.ai.FlightPlanner;
+import familiarfauna.entities.ai.FlightTier;
+import familiarfauna.entities.ai.Herd;
+import familiarfauna.entities.ai.MateRegistry;
+import familiarfauna.entities.ai.PerchRegistry;
+import familiarfauna.util.population.CrowdGrid;
+import familiarfauna.util.population.PlayerGrid;
+import familiarfauna.util.population.PopulationIndex;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+
+public class FFCommand extends CommandBase
+{
+    @Override
+    public String getName()
+    {
+        return "familiarfauna";
+    }
+
+    @Override
+    public List<String> getAliases()
+    {
+        return Lists.newArrayList("ff");
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender)
+    {
+        return "commands.familiarfauna.usage";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel()
+    {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException
+    {
+        if (args.length < 1)
+        {
+            throw new WrongUsageException("commands.familiarfauna.usage");
+        }
+        else if ("stats".equals(args[0]))
+        {
+            displayStats(sender, args);
+        }
+        else
+        {
+            throw new WrongUsageException("commands.familiarfauna.usage");
+        }
+    }
+
+    private void displayStats(ICommandSender sender, String[] args) throws CommandException
+    {
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.planner", FlightPlanner.plans, FlightPlanner.candidatesChecked, FlightPlanner.snapshotsTaken, FlightPlanner.snapshotRows));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.queries", FlightPlanner.snapshotReads, FlightPlanner.worldReads, FlightPlanner.legacyQueries));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.spawns", PopulationIndex.spawnsRejected));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.players", PlayerGrid.queries, PlayerGrid.playersChecked));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.herds", Herd.leaderPaths, Herd.followerPaths, Herd.followerSteers, Herd.panicsShared));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.mates", MateRegistry.lookups, MateRegistry.candidatesChecked));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.separation", CrowdGrid.pairsChecked));
+        sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.snails", EntityAISnailCrawl.steps, EntityAISnailCrawl.blockChecks));
+
+        for (WorldServer world : DimensionManager.getWorlds())
+        {
+            int[] tierCounts = FlightLod.getTierCounts(world);
+
+            if (tierCounts != null)
+            {
+                sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.lod", world.provider.getDimension(), tierCounts[FlightTier.NEAR.ordinal()], tierCounts[FlightTier.MID.ordinal()], tierCounts[FlightTier.FAR.ordinal()]));
+            }
+
+            PopulationIndex population = PopulationIndex.forWorld(world);
+
+            if (population != null)
+            {
+                sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.population", world.provider.getDimension(), population.getTotal(), population.getRegionCount()));
+            }
+
+            CrowdGrid crowd = CrowdGrid.forWorld(world);
+
+            if (crowd != null && crowd.getCrowdedCount() > 0)
+            {
+                sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.crowd", world.provider.getDimension(), crowd.getCrowdedCount(), crowd.getTotal(), crowd.getCrowdedChunks()));
+            }
+
+            MateRegistry mates = MateRegistry.forWorld(world);
+
+            if (mates != null && mates.size() > 0)
+            {
+                sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.inlove", world.provider.getDimension(), mates.size()));
+            }
+
+            PerchRegistry perches = PerchRegistry.forWorld(world);
+
+            if (perches != null && perches.size() > 0)
+            {
+                sender.sendMessage(new TextComponentTranslation("commands.familiarfauna.stats.perched", world.provider.getDimension(), perches.size()));
+            }
+        }
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos pos)
+    {
+        if (args.length == 1)
+        {
+            return getListOfStringsMatchingLastWord(args, "stats");
+        }
+
+        return Collections.<String>emptyList();
+    }
+}
@@ -3,6 +3,7 @@ package familiarfauna.config;
 import java.io.File;
 
 import familiarfauna.core.FamiliarFauna;
+import familiarfauna.handler.EntityEventHandler;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -20,6 +21,9 @@ public class ConfigurationHandler
     public static final String SNAIL_SETTINGS = "Snail Settings";
     public static final String TURKEY_SETTINGS = "Turkey Settings";
     
+    public static final String PERFORMANCE_SETTINGS = "Performance Settings";
+    public static final String CLIENT_SETTINGS = "Client Settings";
+    
     public static boolean butterflyEnable;
     public static int butterflyWeight;
     public static int butterflyMin;
@@ -51,6 +55,20 @@ public class ConfigurationHandler
     public static int turkeyMin;
     public static int turkeyMax;
     public static boolean turkeyReplaceChickens;
+    
+    public static int flyerLodNearDistance;
+    public static int flyerLodFarDistance;
+    public static int populationCap;
+    public static int crowdThreshold;
+    public static int crowdAiInterval;
+    public static int snailDecisionInterval;
+    public static boolean ambientInsects;
+    public static int ambientCatchLimit;
+    
+    public static int particleLimit;
+    public static int flyerBillboardDistance;
+    public static int flyerRenderDistance;
+    public static int ambientInsectCount;
 
     public static void init(File configFile)
     {
@@ -96,6 +114,20 @@ public class ConfigurationHandler
             turkeyMin = config.getInt("Min. Group Size", TURKEY_SETTINGS, 3, 0, Integer.MAX_VALUE, "The minimum group size for Turkey.");
             turkeyMax = config.getInt("Max. Group Size", TURKEY_SETTINGS, 4, 0, Integer.MAX_VALUE, "The maximum group size for Turkey.");
             turkeyReplaceChickens = config.getBoolean("Replace Chickens with Turkey", TURKEY_SETTINGS, true, "Removes Chicken spawns in biomes that Turkey spawn in.");
+            
+            flyerLodNearDistance = config.getInt("Flyer Full Update Distance", PERFORMANCE_SETTINGS, 32, 0, Integer.MAX_VALUE, "Butterflies, Dragonflies and Pixies closer than this many blocks to a player steer and move every tick.");
+            flyerLodFarDistance = config.getInt("Flyer Reduced Update Distance", PERFORMANCE_SETTINGS, 64, 0, Integer.MAX_VALUE, "Butterflies, Dragonflies and Pixies further than this many blocks from every player steer and move in coarse steps. Between the two distances they steer every other tick.");
+            populationCap = config.getInt("Local Population Cap", PERFORMANCE_SETTINGS, 16, 0, Integer.MAX_VALUE, "Butterflies, Dragonflies and Pixies won't spawn where there are already this many of their kind within the same 64x64 block area.  Set to 0 for no limit.");
+            crowdThreshold = config.getInt("Crowd Threshold", PERFORMANCE_SETTINGS, 24, 0, Integer.MAX_VALUE, "Deer and Turkey in a chunk holding at least this many of them are in crowd mode: they push each other apart through a grid instead of searching for entities to collide with, and decide what to do next less often.  Set to 0 to turn crowd mode off.");
+            crowdAiInterval = config.getInt("Crowd AI Interval", PERFORMANCE_SETTINGS, 4, 1, Integer.MAX_VALUE, "Deer and Turkey in crowd mode only look for something new to do on one in this many of their usual AI checks.  Whatever they're already doing carries on at full rate.");
+            snailDecisionInterval = config.getInt("Snail Decision Interval", PERFORMANCE_SETTINGS, 40, 1, Integer.MAX_VALUE, "How many ticks a Snail waits between deciding whether to crawl somewhere.  Snails pick their way a block at a time by looking at the blocks around them, without path finding.");
+            ambientInsects = config.getBoolean("Client-Side Butterflies and Dragonflies", PERFORMANCE_SETTINGS, false, "Butterflies and Dragonflies stop spawning as mobs on the server.  Instead each player's game flies a few of its own around them, and only catching one with a Bug Net is checked with the server.  The server has to trust the player's game that an insect was there: it only checks the catch is close by, in front of the player, in a biome the insect lives in, and no more often than one per net swing and the Client-Side Catch Limit.  Requires a restart.");
+            ambientCatchLimit = config.getInt("Client-Side Catch Limit", PERFORMANCE_SETTINGS, 6, 0, Integer.MAX_VALUE, "The most client-side Butterflies and Dragonflies a player can catch in a minute.");
+            
+            particleLimit = config.getInt("Particle Limit", CLIENT_SETTINGS, 256, 0, Integer.MAX_VALUE, "The most Pixie trail particles that can be shown at once.  Trails also thin out with distance and stop for Pixies that are out of view.");
+            flyerBillboardDistance = config.getInt("Flyer Billboard Distance", CLIENT_SETTINGS, 32, 0, Integer.MAX_VALUE, "Butterflies, Dragonflies and Pixies further than this many blocks from the camera are drawn as flat sprites instead of full models.  Set to 0 to always draw models.");
+            flyerRenderDistance = config.getInt("Flyer Render Distance", CLIENT_SETTINGS, 64, 0, Integer.MAX_VALUE, "Butterflies, Dragonflies and Pixies further than this many blocks from the camera aren't drawn at all.  Set to 0 for no limit.");
+            ambientInsectCount = config.getInt("Client-Side Insect Count", CLIENT_SETTINGS, 8, 0, Integer.MAX_VALUE, "How many Butterflies and Dragonflies are flown around you on servers that use client-side Butterflies and Dragonflies.");
         }
         catch (Exception e)
         {
@@ -113,6 +145,7 @@ public class ConfigurationHandler
         if (event.getModID().equalsIgnoreCase(FamiliarFauna.MOD_ID))
         {
             loadConfiguration();
+            EntityEventHandler.purgeDisabledSpecies();
         }
     }
 }
\ No newline at end of file
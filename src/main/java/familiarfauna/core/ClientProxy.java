@@ -1,5 +1,6 @@
 package familiarfauna.core;
 
+import familiarfauna.client.ambient.AmbientInsects;
 import familiarfauna.entities.EntityButterfly;
 import familiarfauna.entities.EntityDeer;
 import familiarfauna.entities.EntityDragonfly;
@@ -12,12 +13,10 @@ import familiarfauna.entities.render.RenderDragonfly;
 import familiarfauna.entities.render.RenderPixie;
 import familiarfauna.entities.render.RenderSnail;
 import familiarfauna.entities.render.RenderTurkey;
-import familiarfauna.particle.EntityBluePixieTrailFX;
-import familiarfauna.particle.EntityPinkPixieTrailFX;
-import familiarfauna.particle.EntityPurplePixieTrailFX;
+import familiarfauna.particle.FFParticleBudget;
 import familiarfauna.particle.FFParticleTypes;
+import familiarfauna.particle.FFTrailParticles;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.particle.Particle;
 import net.minecraft.client.renderer.block.model.ModelBakery;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
 import net.minecraft.client.renderer.entity.Render;
@@ -34,8 +33,6 @@ import net.minecraftforge.fml.client.registry.RenderingRegistry;
 
 public class ClientProxy extends CommonProxy
 {
-	public static ResourceLocation particleTexturesLocation = new ResourceLocation("familiarfauna:textures/particles/particles.png");
-	
     @Override
     public void registerRenderers()
     {
@@ -60,24 +57,43 @@ public class ClientProxy extends CommonProxy
     @Override
     public void spawnParticle(FFParticleTypes type, World parWorld, double x, double y, double z, Object... info)
     {
-        Minecraft minecraft = Minecraft.getMinecraft();
-        Particle entityFx = null;
+        int row;
         switch (type)
         {
         case PINK_PIXIE_TRAIL:
-            entityFx = new EntityPinkPixieTrailFX(parWorld, x, y, z, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03), -0.02D, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03));
+            row = 0;
             break;
         case BLUE_PIXIE_TRAIL:
-            entityFx = new EntityBluePixieTrailFX(parWorld, x, y, z, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03), -0.02D, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03));
+            row = 1;
             break;
         case PURPLE_PIXIE_TRAIL:
-            entityFx = new EntityPurplePixieTrailFX(parWorld, x, y, z, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03), -0.02D, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03));
+            row = 2;
             break;
         default:
-            break;
+            return;
+        }
+
+        // info[0] is the entity emitting the particle, if there is one
+        if (!FFParticleBudget.tryEmit(parWorld, x, y, z, info.length > 0 ? info[0] : null))
+        {
+            return;
         }
 
-        if (entityFx != null) {minecraft.effectRenderer.addEffect(entityFx);}
+        FFTrailParticles.spawn(parWorld, x, y, z, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03), -0.02D, MathHelper.nextDouble(parWorld.rand, -0.03, 0.03), row);
+    }
+    
+    @Override
+    public void setAmbientInsects(final boolean enabled)
+    {
+        // messages arrive on the network thread
+        Minecraft.getMinecraft().addScheduledTask(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                AmbientInsects.setEnabled(enabled);
+            }
+        });
     }
     
     private static <E extends Entity> void registerEntityRenderer(Class<E> entityClass, Class<? extends Render<E>> renderClass)
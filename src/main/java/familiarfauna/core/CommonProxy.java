@@ -11,4 +11,5 @@ public class CommonProxy
     public void registerItemVariantModel(Item item, String name, int metadata) {}
     public void registerNonRenderingProperties(Block block) {}
     public void spawnParticle(FFParticleTypes type, World parWorld, double x, double y, double z, Object... info) {}
+    public void setAmbientInsects(boolean enabled) {}
 }
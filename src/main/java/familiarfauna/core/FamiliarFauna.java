@@ -5,18 +5,22 @@ import java.io.File;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import familiarfauna.command.FFCommand;
 import familiarfauna.init.ModCompat;
 import familiarfauna.init.ModConfiguration;
 import familiarfauna.init.ModCrafting;
 import familiarfauna.init.ModEntities;
+import familiarfauna.init.ModHandlers;
 import familiarfauna.init.ModItems;
 import familiarfauna.init.ModLootTable;
 import familiarfauna.init.ModSounds;
+import familiarfauna.network.FFPacketHandler;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.Mod.Instance;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 
 @Mod(modid = FamiliarFauna.MOD_ID, version = FamiliarFauna.MOD_VERSION, name = FamiliarFauna.MOD_NAME, dependencies = "required-after:forge@[1.0.0.0,);" + "after:biomesoplenty;", guiFactory = FamiliarFauna.GUI_FACTORY)
 public class FamiliarFauna
@@ -49,7 +53,15 @@ public class FamiliarFauna
         
         ModLootTable.init();
         ModCrafting.init();
+        ModHandlers.init();
+        FFPacketHandler.init();
         
         proxy.registerRenderers();
     }
+    
+    @EventHandler
+    public void serverStarting(FMLServerStartingEvent event)
+    {
+        event.registerServerCommand(new FFCommand());
+    }
 }
@@ -15,21 +15,26 @@ import javax.annotation.Nullable;
 import com.google.common.collect.Sets;
 
 import familiarfauna.api.FFSounds;
-import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.ai.EntityAIAvoidPlayer;
+import familiarfauna.entities.ai.EntityAICrowdThrottle;
+import familiarfauna.entities.ai.EntityAIFindMate;
+import familiarfauna.entities.ai.EntityAIHerdFollow;
+import familiarfauna.entities.ai.EntityAIHerdWander;
+import familiarfauna.entities.ai.EntityAITemptPlayer;
+import familiarfauna.entities.ai.HerdMember;
+import familiarfauna.entities.ai.IHerdAnimal;
+import familiarfauna.entities.ai.MateRegistry;
 import familiarfauna.init.ModLootTable;
+import familiarfauna.util.population.CrowdGrid;
 import net.minecraft.block.Block;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityAgeable;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IEntityLivingData;
 import net.minecraft.entity.SharedMonsterAttributes;
-import net.minecraft.entity.ai.EntityAIAvoidEntity;
 import net.minecraft.entity.ai.EntityAIFollowParent;
 import net.minecraft.entity.ai.EntityAILookIdle;
-import net.minecraft.entity.ai.EntityAIMate;
 import net.minecraft.entity.ai.EntityAIPanic;
 import net.minecraft.entity.ai.EntityAISwimming;
-import net.minecraft.entity.ai.EntityAITempt;
-import net.minecraft.entity.ai.EntityAIWanderAvoidWater;
 import net.minecraft.entity.passive.EntityAnimal;
 import net.minecraft.entity.passive.IAnimals;
 import net.minecraft.entity.player.EntityPlayer;
@@ -47,10 +52,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.World;
 
-public class EntityDeer extends EntityAnimal implements IAnimals
+public class EntityDeer extends EntityAnimal implements IAnimals, IHerdAnimal
 {
 	private static final Set<Item> TEMPTATION_ITEMS = Sets.newHashSet(Items.APPLE);
     private static final DataParameter<Byte> TYPE = EntityDataManager.<Byte>createKey(EntityDeer.class, DataSerializers.BYTE);
+    private HerdMember herdMember;
     
     public EntityDeer(World worldIn)
     {
@@ -68,14 +74,54 @@ public class EntityDeer extends EntityAnimal implements IAnimals
     @Override
     protected void initEntityAI()
     {
+        // this runs from the super constructor, before our own fields are initialised
+        this.herdMember = new HerdMember(this);
+        
         this.tasks.addTask(0, new EntityAISwimming(this));
         this.tasks.addTask(1, new EntityAIPanic(this, 2.0D));
-        this.tasks.addTask(2, new EntityAIMate(this, 1.0D));
-        this.tasks.addTask(3, new EntityAITempt(this, 0.8D, true, TEMPTATION_ITEMS));
-        this.tasks.addTask(4, new EntityAIFollowParent(this, 1.25D));
-        this.tasks.addTask(5, new EntityAIWanderAvoidWater(this, 1.0D));
-        this.tasks.addTask(6, new EntityDeer.AIAvoidEntity(this, EntityPlayer.class, 5.0F, 2.0D, 2.5D));
-        this.tasks.addTask(7, new EntityAILookIdle(this));
+        this.tasks.addTask(2, new EntityAICrowdThrottle(this, new EntityAIFindMate(this, 1.0D)));
+        this.tasks.addTask(3, new EntityAICrowdThrottle(this, new EntityAITemptPlayer(this, 0.8D, true, TEMPTATION_ITEMS)));
+        this.tasks.addTask(4, new EntityAICrowdThrottle(this, new EntityAIFollowParent(this, 1.25D)));
+        this.tasks.addTask(5, new EntityAICrowdThrottle(this, new EntityAIHerdFollow(this, this.herdMember, 1.0D)));
+        this.tasks.addTask(5, new EntityAICrowdThrottle(this, new EntityAIHerdWander(this, this.herdMember, 1.0D)));
+        this.tasks.addTask(6, new EntityAICrowdThrottle(this, new EntityAIAvoidPlayer(this, 5.0F, 2.0D, 2.5D)));
+        this.tasks.addTask(7, new EntityAICrowdThrottle(this, new EntityAILookIdle(this)));
+    }
+    
+    @Override
+    protected void collideWithNearbyEntities()
+    {
+        CrowdGrid crowd = CrowdGrid.forWorld(this.world);
+
+        if (crowd != null && crowd.contains(this))
+        {
+            crowd.separate(this);
+        }
+        else
+        {
+            super.collideWithNearbyEntities();
+        }
+    }
+    
+    @Override
+    public HerdMember getHerdMember()
+    {
+        return this.herdMember;
+    }
+    
+    @Override
+    public boolean attackEntityFrom(DamageSource source, float amount)
+    {
+        boolean damaged = super.attackEntityFrom(source, amount);
+        EntityLivingBase attacker = this.getRevengeTarget();
+
+        // the whole herd bolts, not just the one that was hit
+        if (damaged && attacker != null && this.herdMember.getHerd() != null)
+        {
+            this.herdMember.getHerd().panic(this.herdMember, attacker);
+        }
+
+        return damaged;
     }
     
     @Override
@@ -137,20 +183,33 @@ public class EntityDeer extends EntityAnimal implements IAnimals
         return ModLootTable.DEER_LOOT;
     }
     
-    static class AIAvoidEntity<T extends Entity> extends EntityAIAvoidEntity<T>
+    protected boolean canMate()
+    {
+        return !this.isChild() && this.getHealth() >= this.getMaxHealth() && this.isInLove();
+    }
+    
+    @Override
+    public void setInLove(@Nullable EntityPlayer player)
     {
-        private final EntityDeer deer;
+        super.setInLove(player);
+        MateRegistry registry = MateRegistry.forWorld(this.world);
 
-        public AIAvoidEntity(EntityDeer deer, Class<T> p_i46403_2_, float p_i46403_3_, double p_i46403_4_, double p_i46403_6_)
+        if (registry != null)
         {
-            super(deer, p_i46403_2_, p_i46403_3_, p_i46403_4_, p_i46403_6_);
-            this.deer = deer;
+            registry.add(this, this.getDeerType());
         }
     }
     
-    protected boolean canMate()
+    @Override
+    public void resetInLove()
     {
-        return !this.isChild() && this.getHealth() >= this.getMaxHealth() && this.isInLove();
+        super.resetInLove();
+        MateRegistry registry = MateRegistry.forWorld(this.world);
+
+        if (registry != null)
+        {
+            registry.remove(this);
+        }
     }
     
     @Override
@@ -168,17 +227,6 @@ public class EntityDeer extends EntityAnimal implements IAnimals
         return false;
     }
     
-    @Override
-    public void onUpdate()
-    {
-        super.onUpdate();
-
-        if (!this.world.isRemote && (!(ConfigurationHandler.deerEnable)))
-        {
-            this.setDead();
-        }
-    }
-    
     @Override
     public IEntityLivingData onInitialSpawn(DifficultyInstance difficulty, IEntityLivingData livingdata)
     {
@@ -1,25 +1,25 @@
 package familiarfauna.entities;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import familiarfauna.api.FFItems;
 import familiarfauna.api.FFSounds;
-import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.ai.EntityAIRandomFly;
+import familiarfauna.entities.ai.FlightLod;
+import familiarfauna.entities.ai.FlightPerch;
+import familiarfauna.entities.ai.FlightTuning;
+import familiarfauna.entities.ai.FlyingInsectMoveHelper;
 import familiarfauna.init.ModLootTable;
 import familiarfauna.item.ItemBugHabitat;
+import familiarfauna.network.FFPacketHandler;
+import familiarfauna.network.message.MessageCatchAmbientInsect;
+import familiarfauna.util.population.PopulationIndex;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.IEntityLivingData;
 import net.minecraft.entity.MoverType;
 import net.minecraft.entity.SharedMonsterAttributes;
-import net.minecraft.entity.ai.EntityAIBase;
-import net.minecraft.entity.ai.EntityMoveHelper;
 import net.minecraft.entity.passive.EntityAmbientCreature;
 import net.minecraft.entity.passive.EntityFlying;
 import net.minecraft.entity.player.EntityPlayer;
@@ -28,11 +28,10 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.datasync.DataParameter;
 import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
-import net.minecraft.util.EnumFacing;
+import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundEvent;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
@@ -42,13 +41,22 @@ import net.minecraft.world.WorldType;
 public class EntityDragonfly extends EntityAmbientCreature implements EntityFlying
 {
     private static final DataParameter<Byte> TYPE = EntityDataManager.<Byte>createKey(EntityDragonfly.class, DataSerializers.BYTE);
+    private static final FlightTuning FLIGHT_TUNING = new FlightTuning(0.1D, 2, 2, 15, 30, 1.0D, 10.0D, 10.0D, 10.0D, 0.25D, 0.0D);
+
+    private final FlightLod flightLod;
+    private final FlightPerch perch;
+    // flown by the client alone, see AmbientInsects
+    private boolean ambient;
 
     public EntityDragonfly(World worldIn) {
         super(worldIn);
         this.setSize(0.7F, 0.7F);
         
-        this.moveHelper = new EntityDragonfly.DragonflyMoveHelper();
-        this.tasks.addTask(3, new EntityDragonfly.AIDragonflyRandomFly());
+        this.flightLod = new FlightLod(this);
+        this.perch = new FlightPerch(this, 4);
+        FlyingInsectMoveHelper flyingMoveHelper = new FlyingInsectMoveHelper(this, FLIGHT_TUNING, this.flightLod, this.perch);
+        this.moveHelper = flyingMoveHelper;
+        this.tasks.addTask(3, new EntityAIRandomFly(this, flyingMoveHelper, FLIGHT_TUNING));
     }
     
     @Override
@@ -100,6 +108,20 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
     {
         ItemStack itemstack = player.getHeldItem(hand);
 
+        if (this.ambient)
+        {
+            // the server has never heard of us, so it's asked to make the catch instead
+            if (itemstack.getItem() == FFItems.bug_net && !player.capabilities.isCreativeMode && !player.getCooldownTracker().hasCooldown(FFItems.bug_net) && findEmptyHabitatStack(player) != ItemStack.EMPTY)
+            {
+                player.swingArm(hand);
+                FFPacketHandler.instance.sendToServer(new MessageCatchAmbientInsect("dragonfly", this.getDragonflyType(), this.posX, this.posY, this.posZ, hand));
+                this.setDead();
+                return true;
+            }
+
+            return false;
+        }
+
         if (itemstack.getItem() == FFItems.bug_net && !player.capabilities.isCreativeMode && !this.isChild())
         {
             ItemStack emptyHabitat = findEmptyHabitatStack(player);
@@ -140,6 +162,23 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
         }
     }
     
+    public void setAmbient()
+    {
+        this.ambient = true;
+    }
+    
+    public boolean isAmbient()
+    {
+        return this.ambient;
+    }
+    
+    // lets the AI and move helper run for an ambient insect, which only exists in the client world
+    @Override
+    public boolean isServerWorld()
+    {
+        return this.ambient || super.isServerWorld();
+    }
+    
     @Nonnull
     public static ItemStack findEmptyHabitatStack(EntityPlayer player)
     {
@@ -260,19 +299,43 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
     }
     
     @Override
-    public void onUpdate()
+    public void onLivingUpdate()
     {
-        super.onUpdate();
-
-        if (!this.world.isRemote && (!(ConfigurationHandler.dragonflyEnable)))
+        if (!this.world.isRemote && this.perch.isPerched())
         {
-            this.setDead();
+            this.perch.update();
+
+            // despawning is normally checked by the AI, which doesn't run while we're perched
+            if (this.ticksExisted % 20 == 0)
+            {
+                this.despawnEntity();
+            }
         }
+
+        super.onLivingUpdate();
+    }
+    
+    @Override
+    protected boolean isMovementBlocked()
+    {
+        return this.perch.isPerched() || super.isMovementBlocked();
+    }
+    
+    @Override
+    public boolean attackEntityFrom(DamageSource source, float amount)
+    {
+        this.perch.wake();
+        return super.attackEntityFrom(source, amount);
     }
     
     @Override
     public void travel(float strafe, float vertical, float forward)
     {
+        if (this.perch.isPerched())
+        {
+            return;
+        }
+
         if (this.isInWater())
         {
             this.moveRelative(strafe, vertical, forward, 0.02F);
@@ -289,6 +352,10 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
             this.motionY *= 0.5D;
             this.motionZ *= 0.5D;
         }
+        else if (!this.onGround && this.flightLod.isCoarseTravel())
+        {
+            this.flightLod.travelCoarse();
+        }
         else
         {
             float f = 0.91F;
@@ -334,6 +401,12 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
     @Override
     public boolean getCanSpawnHere()
     {
+        // turn down crowded spots before doing any light or collision checks
+        if (PopulationIndex.isCrowded(this))
+        {
+            return false;
+        }
+
     	BlockPos blockpos = new BlockPos(this.posX, this.getEntityBoundingBox().minY, this.posZ);
 
         if (blockpos.getY() <= this.world.getSeaLevel())
@@ -354,238 +427,4 @@ public class EntityDragonfly extends EntityAmbientCreature implements EntityFlyi
         	}
         }
     }
-    
-    // Helper class representing a point in space that the dragonfly is targeting for some reason
-    class DragonflyMoveTargetPos
-    {
-        private EntityDragonfly dragonfly = EntityDragonfly.this;
-
-        public double posX;
-        public double posY;
-        public double posZ;
-        public double distX;
-        public double distY;
-        public double distZ;
-        public double dist;
-        public double aimX;
-        public double aimY;
-        public double aimZ;
-        
-        public DragonflyMoveTargetPos()
-        {
-            this(0, 0, 0);
-        }
-        
-        public DragonflyMoveTargetPos(double posX, double posY, double posZ)
-        {
-            this.setTarget(posX, posY, posZ);
-        }
-        
-        public void setTarget(double posX, double posY, double posZ)
-        {
-            this.posX = posX;
-            this.posY = posY;
-            this.posZ = posZ;
-            this.refresh();
-        }
-        
-        public void refresh()
-        {
-            this.distX = this.posX - this.dragonfly.posX;
-            this.distY = this.posY - this.dragonfly.posY;
-            this.distZ = this.posZ - this.dragonfly.posZ;
-            
-            this.dist = (double)MathHelper.sqrt(this.distX * this.distX + this.distY * this.distY + this.distZ * this.distZ);
-            
-            // (aimX,aimY,aimZ) is a unit vector in the direction we want to go
-            if (this.dist == 0.0D)
-            {
-                this.aimX = 0.0D;
-                this.aimY = 0.0D;
-                this.aimZ = 0.0D;
-            }
-            else
-            {
-                this.aimX = this.distX / this.dist;
-                this.aimY = this.distY / this.dist;
-                this.aimZ = this.distZ / this.dist;                
-            }
-         }
-        
-        public boolean isBoxBlocked(AxisAlignedBB box)
-        {
-            return !this.dragonfly.world.getCollisionBoxes(this.dragonfly, box).isEmpty();
-        }
-        
-        // check nothing will collide with the dragonfly in the direction of aim, for howFar units (or until the destination - whichever is closer)
-        public boolean isPathClear(double howFar)
-        {
-            howFar = Math.min(howFar, this.dist);
-            AxisAlignedBB box = this.dragonfly.getEntityBoundingBox();
-            for (double i = 0.5D; i < howFar; ++i)
-            {
-                // check there's nothing in the way
-                if (this.isBoxBlocked(box.offset(this.aimX * i, this.aimY * i, this.aimZ * i)))
-                {
-                    return false;
-                }
-            }
-            if (this.isBoxBlocked(box.offset(this.aimX * howFar, this.aimY * howFar, this.aimZ * howFar)))
-            {
-                return false;
-            }
-            return true;
-        }
-        
-    }
-            
-    class DragonflyMoveHelper extends EntityMoveHelper
-    {
-        // EntityMoveHelper has the boolean 'update' which is set to true when the target is changed, and set to false when a bearing is set
-        // So it means 'the target has changed but we're not yet heading for it'
-        // We'll re-use it here with a slightly different interpretation
-        // Here it will mean 'has a target and not yet arrived'
-        
-        private EntityDragonfly dragonfly = EntityDragonfly.this;
-        private int courseChangeCooldown = 0;
-        private double closeEnough = 0.3D;
-        private DragonflyMoveTargetPos targetPos = new DragonflyMoveTargetPos();
-
-        public DragonflyMoveHelper()
-        {
-            super(EntityDragonfly.this);
-        }
-                        
-        @Override
-        public void setMoveTo(double x, double y, double z, double speedIn)
-        {
-            super.setMoveTo(x,y,z,speedIn);
-            this.targetPos.setTarget(x, y, z);
-        }
-
-        @Override
-        public void onUpdateMoveHelper()
-        {
-            // if we have arrived at the previous target, or we have no target to aim for, do nothing
-            if (this.action != Action.MOVE_TO)
-            {
-            	return;
-            }
-            
-            // limit the rate at which we change course
-            if (this.courseChangeCooldown-- > 0)
-            {
-                return;
-            }
-            this.courseChangeCooldown += this.dragonfly.getRNG().nextInt(2) + 2;
-            
-            // update the target position
-            this.targetPos.refresh();
-            
-            // accelerate the dragonfly towards the target
-            double acceleration = 0.1D;
-            this.dragonfly.motionX += this.targetPos.aimX * acceleration;
-            this.dragonfly.motionY += this.targetPos.aimY * acceleration;
-            this.dragonfly.motionZ += this.targetPos.aimZ * acceleration;
-           
-            // rotate to point at target
-            this.dragonfly.renderYawOffset = this.dragonfly.rotationYaw = -((float)Math.atan2(this.targetPos.distX, this.targetPos.distZ)) * 180.0F / (float)Math.PI;            
-
-            // abandon this movement if we have reached the target or there is no longer a clear path to the target
-            if (!this.targetPos.isPathClear(1.0D))
-            {
-                this.action = Action.WAIT;
-                this.courseChangeCooldown += this.dragonfly.getRNG().nextInt(30) + 15;
-            }
-            else if (this.targetPos.dist < this.closeEnough)
-            {
-                this.action = Action.WAIT;
-                this.courseChangeCooldown += this.dragonfly.getRNG().nextInt(30) + 15;
-            }
-        }        
-
-    }
-    
-    // AI class for implementing the random flying behaviour
-    class AIDragonflyRandomFly extends EntityAIBase
-    {
-        private EntityDragonfly dragonfly = EntityDragonfly.this;
-        private DragonflyMoveTargetPos targetPos = new DragonflyMoveTargetPos();
-        
-        public AIDragonflyRandomFly()
-        {
-            this.setMutexBits(1);
-        }
-
-        // should we choose a new random destination for the dragonfly to fly to?
-        // yes, if the dragonfly doesn't already have a destination
-        @Override
-        public boolean shouldExecute()
-        {
-            return !this.dragonfly.getMoveHelper().isUpdating();
-        }
-        
-        @Override
-        public boolean shouldContinueExecuting() {return false;}
-        
-        // choose a a new random destination for the dragonfly to fly to
-        @Override
-        public void startExecuting()
-        {            
-            Random rand = this.dragonfly.getRNG();
-            // pick a random nearby point and see if we can fly to it
-            if (this.tryGoingRandomDirection(rand, 10.0D)) {return;}
-            // pick a random closer point to fly to instead
-            if (this.tryGoingRandomDirection(rand, 10.0D)) {return;}
-            // try going straight along axes (try all 6 directions in random order)
-            List<EnumFacing> directions = Arrays.asList(EnumFacing.values());
-            Collections.shuffle(directions);
-            for (EnumFacing facing : directions)
-            {
-                if (this.tryGoingAlongAxis(rand, facing, 10.0D)) {return;}
-            }
-        }
-        
-        
-        public boolean tryGoingRandomDirection(Random rand, double maxDistance)
-        {
-            double dirX = ((rand.nextDouble() * 2.0D - 1.0D) * maxDistance);
-            double dirY = ((rand.nextDouble() * 2.0D - 1.0D) * (maxDistance * 0.25D));
-            double dirZ = ((rand.nextDouble() * 2.0D - 1.0D) * maxDistance);
-            return this.tryGoing(dirX, dirY, dirZ);
-        }
-        
-        public boolean tryGoingAlongAxis(Random rand, EnumFacing facing, double maxDistance)
-        {
-            double dirX = 0.0D;
-            double dirY = 0.0D;
-            double dirZ = 0.0D;
-            switch (facing.getAxis())
-            {
-                case X:
-                    dirX = rand.nextDouble() * facing.getAxisDirection().getOffset() * maxDistance;
-                    break;
-                case Y:
-                    dirY = rand.nextDouble() * facing.getAxisDirection().getOffset() * (maxDistance * 0.25D);
-                    break;
-                case Z: default:
-                    dirZ = rand.nextDouble() * facing.getAxisDirection().getOffset() * maxDistance;
-                    break;
-            }
-            return this.tryGoing(dirX, dirY, dirZ);
-        }
-        
-        public boolean tryGoing(double dirX, double dirY, double dirZ)
-        {
-            //System.out.println("("+dirX+","+dirY+","+dirZ+")");
-            this.targetPos.setTarget(this.dragonfly.posX + dirX, this.dragonfly.posY + dirY, this.dragonfly.posZ + dirZ);
-            //System.out.println("Testing random move target distance:"+this.targetPos.dist+" direction:("+this.targetPos.aimX+","+this.targetPos.aimY+","+this.targetPos.aimZ+")");
-            boolean result = this.targetPos.isPathClear(5.0F);
-            if (result)
-            {
-                this.dragonfly.getMoveHelper().setMoveTo(this.targetPos.posX, this.targetPos.posY, this.targetPos.posZ, 1.0D);
-            }
-            return result;
-        }
-    }
 }
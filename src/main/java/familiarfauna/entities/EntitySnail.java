@@ -2,12 +2,11 @@ package familiarfauna.entities;
 
 import javax.annotation.Nullable;
 
-import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.ai.EntityAISnailCrawl;
 import familiarfauna.init.ModLootTable;
 import net.minecraft.block.Block;
 import net.minecraft.entity.EntityCreature;
 import net.minecraft.entity.SharedMonsterAttributes;
-import net.minecraft.entity.ai.EntityAIWander;
 import net.minecraft.entity.passive.IAnimals;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.util.ResourceLocation;
@@ -25,7 +24,7 @@ public class EntitySnail extends EntityCreature implements IAnimals
     @Override
     protected void initEntityAI()
     {
-        this.tasks.addTask(0, new EntityAIWander(this, 0.6D));
+        this.tasks.addTask(0, new EntityAISnailCrawl(this, 0.6D));
     }
     
     @Nullable
@@ -60,15 +59,4 @@ public class EntitySnail extends EntityCreature implements IAnimals
     {
         return true;
     }
-    
-    @Override
-    public void onUpdate()
-    {
-        super.onUpdate();
-
-        if (!this.world.isRemote && (!(ConfigurationHandler.snailEnable)))
-        {
-            this.setDead();
-        }
-    }
 }
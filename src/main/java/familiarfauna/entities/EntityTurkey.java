@@ -15,21 +15,28 @@ import javax.annotation.Nullable;
 import com.google.common.collect.Sets;
 
 import familiarfauna.api.FFSounds;
-import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.ai.EntityAICrowdThrottle;
+import familiarfauna.entities.ai.EntityAIFindMate;
+import familiarfauna.entities.ai.EntityAIHerdFollow;
+import familiarfauna.entities.ai.EntityAIHerdWander;
+import familiarfauna.entities.ai.EntityAITemptPlayer;
+import familiarfauna.entities.ai.HerdMember;
+import familiarfauna.entities.ai.IHerdAnimal;
+import familiarfauna.entities.ai.MateRegistry;
 import familiarfauna.init.ModLootTable;
+import familiarfauna.util.population.CrowdGrid;
 import net.minecraft.block.Block;
 import net.minecraft.entity.EntityAgeable;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.IEntityLivingData;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.EntityAIFollowParent;
 import net.minecraft.entity.ai.EntityAILookIdle;
-import net.minecraft.entity.ai.EntityAIMate;
 import net.minecraft.entity.ai.EntityAIPanic;
 import net.minecraft.entity.ai.EntityAISwimming;
-import net.minecraft.entity.ai.EntityAITempt;
-import net.minecraft.entity.ai.EntityAIWanderAvoidWater;
 import net.minecraft.entity.passive.EntityAnimal;
 import net.minecraft.entity.passive.IAnimals;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Items;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -45,15 +52,13 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.World;
 
-public class EntityTurkey extends EntityAnimal implements IAnimals
+public class EntityTurkey extends EntityAnimal implements IAnimals, IHerdAnimal
 {
 	private static final Set<Item> TEMPTATION_ITEMS = Sets.newHashSet(Items.WHEAT_SEEDS, Items.MELON_SEEDS, Items.PUMPKIN_SEEDS, Items.BEETROOT_SEEDS);
 	private static final DataParameter<Byte> TYPE = EntityDataManager.<Byte>createKey(EntityTurkey.class, DataSerializers.BYTE);
-    public float wingRotation;
-    public float destPos;
-    public float oFlapSpeed;
-    public float oFlap;
-    public float wingRotDelta = 1.0F;
+    private HerdMember herdMember;
+    // created by RenderTurkey the first time a turkey is drawn, so server turkeys never have one
+    private WingAnimation wingAnimation;
 	
     public EntityTurkey(World worldIn)
     {
@@ -71,13 +76,53 @@ public class EntityTurkey extends EntityAnimal implements IAnimals
     @Override
     protected void initEntityAI()
     {
+        // this runs from the super constructor, before our own fields are initialised
+        this.herdMember = new HerdMember(this);
+        
         this.tasks.addTask(0, new EntityAISwimming(this));
         this.tasks.addTask(1, new EntityAIPanic(this, 1.0D));
-        this.tasks.addTask(2, new EntityAIMate(this, 1.0D));
-        this.tasks.addTask(3, new EntityAITempt(this, 1.0D, false, TEMPTATION_ITEMS));
-        this.tasks.addTask(4, new EntityAIFollowParent(this, 1.1D));
-        this.tasks.addTask(5, new EntityAIWanderAvoidWater(this, 1.0D));
-        this.tasks.addTask(6, new EntityAILookIdle(this));
+        this.tasks.addTask(2, new EntityAICrowdThrottle(this, new EntityAIFindMate(this, 1.0D)));
+        this.tasks.addTask(3, new EntityAICrowdThrottle(this, new EntityAITemptPlayer(this, 1.0D, false, TEMPTATION_ITEMS)));
+        this.tasks.addTask(4, new EntityAICrowdThrottle(this, new EntityAIFollowParent(this, 1.1D)));
+        this.tasks.addTask(5, new EntityAICrowdThrottle(this, new EntityAIHerdFollow(this, this.herdMember, 1.0D)));
+        this.tasks.addTask(5, new EntityAICrowdThrottle(this, new EntityAIHerdWander(this, this.herdMember, 1.0D)));
+        this.tasks.addTask(6, new EntityAICrowdThrottle(this, new EntityAILookIdle(this)));
+    }
+    
+    @Override
+    protected void collideWithNearbyEntities()
+    {
+        CrowdGrid crowd = CrowdGrid.forWorld(this.world);
+
+        if (crowd != null && crowd.contains(this))
+        {
+            crowd.separate(this);
+        }
+        else
+        {
+            super.collideWithNearbyEntities();
+        }
+    }
+    
+    @Override
+    public HerdMember getHerdMember()
+    {
+        return this.herdMember;
+    }
+    
+    @Override
+    public boolean attackEntityFrom(DamageSource source, float amount)
+    {
+        boolean damaged = super.attackEntityFrom(source, amount);
+        EntityLivingBase attacker = this.getRevengeTarget();
+
+        // the whole herd bolts, not just the one that was hit
+        if (damaged && attacker != null && this.herdMember.getHerd() != null)
+        {
+            this.herdMember.getHerd().panic(this.herdMember, attacker);
+        }
+
+        return damaged;
     }
     
     @Override
@@ -92,24 +137,22 @@ public class EntityTurkey extends EntityAnimal implements IAnimals
     public void onLivingUpdate()
     {
         super.onLivingUpdate();
-        this.oFlap = this.wingRotation;
-        this.oFlapSpeed = this.destPos;
-        this.destPos = (float)((double)this.destPos + (double)(this.onGround ? -1 : 4) * 0.3D);
-        this.destPos = MathHelper.clamp(this.destPos, 0.0F, 1.0F);
-
-        if (!this.onGround && this.wingRotDelta < 1.0F)
-        {
-            this.wingRotDelta = 1.0F;
-        }
-
-        this.wingRotDelta = (float)((double)this.wingRotDelta * 0.9D);
 
+        // flapping slows the fall, the flap itself is only worked out when the turkey is drawn (see WingAnimation)
         if (!this.onGround && this.motionY < 0.0D)
         {
             this.motionY *= 0.6D;
         }
+    }
+    
+    public WingAnimation getWingAnimation()
+    {
+        if (this.wingAnimation == null)
+        {
+            this.wingAnimation = new WingAnimation(this.ticksExisted);
+        }
 
-        this.wingRotation += this.wingRotDelta * 2.0F;
+        return this.wingAnimation;
     }
     
     @Override
@@ -179,6 +222,30 @@ public class EntityTurkey extends EntityAnimal implements IAnimals
         return !this.isChild() && this.getHealth() >= this.getMaxHealth() && this.isInLove();
     }
     
+    @Override
+    public void setInLove(@Nullable EntityPlayer player)
+    {
+        super.setInLove(player);
+        MateRegistry registry = MateRegistry.forWorld(this.world);
+
+        if (registry != null)
+        {
+            registry.add(this, this.getTurkeyType());
+        }
+    }
+    
+    @Override
+    public void resetInLove()
+    {
+        super.resetInLove();
+        MateRegistry registry = MateRegistry.forWorld(this.world);
+
+        if (registry != null)
+        {
+            registry.remove(this);
+        }
+    }
+    
     @Override
     public boolean canMateWith(EntityAnimal otherAnimal)
     {
@@ -194,17 +261,6 @@ public class EntityTurkey extends EntityAnimal implements IAnimals
         return false;
     }
     
-    @Override
-    public void onUpdate()
-    {
-        super.onUpdate();
-
-        if (!this.world.isRemote && (!(ConfigurationHandler.turkeyEnable)))
-        {
-            this.setDead();
-        }
-    }
-    
     @Override
     public IEntityLivingData onInitialSpawn(DifficultyInstance difficulty, IEntityLivingData livingdata)
     {
@@ -236,4 +292,61 @@ public class EntityTurkey extends EntityAnimal implements IAnimals
             this.typeData = type;
         }
     }
+
+    // The wing flap, which only matters to ModelTurkey, so it is kept only for turkeys that are being drawn.
+    // The renderer brings it up to date each frame, replaying the ticks since it was last seen. A turkey that has been
+    // out of view for a while only replays the last few, which is all it takes for the flap to settle.
+    public static class WingAnimation
+    {
+        private static final int MAX_CATCH_UP_TICKS = 20;
+
+        private int lastTick;
+        private float wingRotation;
+        private float destPos;
+        private float oFlapSpeed;
+        private float oFlap;
+        private float wingRotDelta = 1.0F;
+
+        private WingAnimation(int tick)
+        {
+            this.lastTick = tick - 1;
+        }
+
+        public void update(EntityTurkey turkey)
+        {
+            int ticks = Math.min(turkey.ticksExisted - this.lastTick, MAX_CATCH_UP_TICKS);
+            this.lastTick = turkey.ticksExisted;
+
+            for (int i = 0; i < ticks; ++i)
+            {
+                this.tick(turkey.onGround);
+            }
+        }
+
+        public float getWingRotation(float partialTicks)
+        {
+            return this.oFlap + (this.wingRotation - this.oFlap) * partialTicks;
+        }
+
+        public float getFlapSpeed(float partialTicks)
+        {
+            return this.oFlapSpeed + (this.destPos - this.oFlapSpeed) * partialTicks;
+        }
+
+        private void tick(boolean onGround)
+        {
+            this.oFlap = this.wingRotation;
+            this.oFlapSpeed = this.destPos;
+            this.destPos = (float)((double)this.destPos + (double)(onGround ? -1 : 4) * 0.3D);
+            this.destPos = MathHelper.clamp(this.destPos, 0.0F, 1.0F);
+
+            if (!onGround && this.wingRotDelta < 1.0F)
+            {
+                this.wingRotDelta = 1.0F;
+            }
+
+            this.wingRotDelta = (float)((double)this.wingRotDelta * 0.9D);
+            this.wingRotation += this.wingRotDelta * 2.0F;
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package familiarfauna.entities.ai;
+
+import com.google.common.base.Predicate;
+
+import familiarfauna.util.population.PlayerGrid;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.entity.ai.RandomPositionGenerator;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.util.math.Vec3d;
+
+// EntityAIAvoidEntity for players, finding the player to run from through the world's PlayerGrid rather than
+// searching the world's entities every tick
+public class EntityAIAvoidPlayer extends EntityAIBase
+{
+    private final EntityCreature entity;
+    private final float avoidDistance;
+    private final double farSpeed;
+    private final double nearSpeed;
+    private final Predicate<EntityPlayer> canBeSeenSelector;
+
+    private EntityPlayer closestPlayer;
+    private Path path;
+
+    public EntityAIAvoidPlayer(EntityCreature entity, float avoidDistance, double farSpeed, double nearSpeed)
+    {
+        this.entity = entity;
+        this.avoidDistance = avoidDistance;
+        this.farSpeed = farSpeed;
+        this.nearSpeed = nearSpeed;
+        // the same players EntityAIAvoidEntity would run from
+        this.canBeSeenSelector = new Predicate<EntityPlayer>()
+        {
+            @Override
+            public boolean apply(EntityPlayer player)
+            {
+                return !player.isSpectator() && !player.isCreative() && player.isEntityAlive() && EntityAIAvoidPlayer.this.entity.getEntitySenses().canSee(player) && !EntityAIAvoidPlayer.this.entity.isOnSameTeam(player);
+            }
+        };
+        this.setMutexBits(1);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        PlayerGrid grid = PlayerGrid.forWorld(this.entity.world);
+
+        if (grid == null)
+        {
+            return false;
+        }
+
+        this.closestPlayer = grid.getClosestPlayerInBox(this.entity, (double)this.avoidDistance, 3.0D, this.canBeSeenSelector);
+
+        if (this.closestPlayer == null)
+        {
+            return false;
+        }
+
+        Vec3d away = RandomPositionGenerator.findRandomTargetBlockAwayFrom(this.entity, 16, 7, new Vec3d(this.closestPlayer.posX, this.closestPlayer.posY, this.closestPlayer.posZ));
+
+        if (away == null || this.closestPlayer.getDistanceSq(away.x, away.y, away.z) < this.closestPlayer.getDistanceSq(this.entity))
+        {
+            return false;
+        }
+
+        this.path = this.entity.getNavigator().getPathToXYZ(away.x, away.y, away.z);
+        return this.path != null;
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        return !this.entity.getNavigator().noPath();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        this.entity.getNavigator().setPath(this.path, this.farSpeed);
+    }
+
+    @Override
+    public void resetTask()
+    {
+        this.closestPlayer = null;
+    }
+
+    @Override
+    public void updateTask()
+    {
+        // run faster while the player is within 7 blocks
+        if (this.entity.getDistanceSq(this.closestPlayer) < 49.0D)
+        {
+            this.entity.getNavigator().setSpeed(this.nearSpeed);
+        }
+        else
+        {
+            this.entity.getNavigator().setSpeed(this.farSpeed);
+        }
+    }
+}
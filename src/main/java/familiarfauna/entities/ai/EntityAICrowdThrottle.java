@@ -0,0 +1,65 @@
+package familiarfauna.entities.ai;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.util.population.CrowdGrid;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.ai.EntityAIBase;
+
+// Wraps another task so that, while its entity is in crowd mode (see CrowdGrid), the task is only asked whether it
+// wants to start on one in every crowdAiInterval of the usual checks. Once started it runs and is checked for
+// stopping at the normal rate, so animals that are already walking somewhere don't stutter.
+public class EntityAICrowdThrottle extends EntityAIBase
+{
+    private final EntityLiving entity;
+    private final EntityAIBase task;
+    private int skippedChecks;
+
+    public EntityAICrowdThrottle(EntityLiving entity, EntityAIBase task)
+    {
+        this.entity = entity;
+        this.task = task;
+        this.setMutexBits(task.getMutexBits());
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        if (CrowdGrid.isCrowded(this.entity) && ++this.skippedChecks < ConfigurationHandler.crowdAiInterval)
+        {
+            return false;
+        }
+
+        this.skippedChecks = 0;
+        return this.task.shouldExecute();
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        return this.task.shouldContinueExecuting();
+    }
+
+    @Override
+    public boolean isInterruptible()
+    {
+        return this.task.isInterruptible();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        this.task.startExecuting();
+    }
+
+    @Override
+    public void resetTask()
+    {
+        this.task.resetTask();
+    }
+
+    @Override
+    public void updateTask()
+    {
+        this.task.updateTask();
+    }
+}
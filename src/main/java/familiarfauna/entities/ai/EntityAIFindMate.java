@@ -0,0 +1,139 @@
+package familiarfauna.entities.ai;
+
+import java.util.Random;
+
+import net.minecraft.advancements.CriteriaTriggers;
+import net.minecraft.entity.EntityAgeable;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.entity.item.EntityXPOrb;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.stats.StatList;
+import net.minecraft.util.EnumParticleTypes;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.entity.living.BabyEntitySpawnEvent;
+
+// EntityAIMate, finding a partner through the world's MateRegistry rather than searching the entities nearby
+public class EntityAIFindMate extends EntityAIBase
+{
+    private static final double MATE_RANGE = 8.0D;
+
+    private final EntityAnimal animal;
+    private final World world;
+    private final double moveSpeed;
+
+    private EntityAnimal targetMate;
+    private int spawnBabyDelay;
+
+    public EntityAIFindMate(EntityAnimal animal, double moveSpeed)
+    {
+        this.animal = animal;
+        this.world = animal.world;
+        this.moveSpeed = moveSpeed;
+        this.setMutexBits(3);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        if (!this.animal.isInLove())
+        {
+            return false;
+        }
+
+        MateRegistry registry = MateRegistry.forWorld(this.world);
+
+        if (registry == null)
+        {
+            return false;
+        }
+
+        this.targetMate = registry.findMate(this.animal, MATE_RANGE);
+        return this.targetMate != null;
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        return this.targetMate.isEntityAlive() && this.targetMate.isInLove() && this.spawnBabyDelay < 60;
+    }
+
+    @Override
+    public void resetTask()
+    {
+        this.targetMate = null;
+        this.spawnBabyDelay = 0;
+    }
+
+    @Override
+    public void updateTask()
+    {
+        this.animal.getLookHelper().setLookPositionWithEntity(this.targetMate, 10.0F, (float)this.animal.getVerticalFaceSpeed());
+        this.animal.getNavigator().tryMoveToEntityLiving(this.targetMate, this.moveSpeed);
+        ++this.spawnBabyDelay;
+
+        if (this.spawnBabyDelay >= 60 && this.animal.getDistanceSq(this.targetMate) < 9.0D)
+        {
+            this.spawnBaby();
+        }
+    }
+
+    private void spawnBaby()
+    {
+        EntityAgeable child = this.animal.createChild(this.targetMate);
+        BabyEntitySpawnEvent event = new BabyEntitySpawnEvent(this.animal, this.targetMate, child);
+        boolean cancelled = MinecraftForge.EVENT_BUS.post(event);
+        child = event.getChild();
+
+        if (cancelled)
+        {
+            this.animal.setGrowingAge(6000);
+            this.targetMate.setGrowingAge(6000);
+            this.animal.resetInLove();
+            this.targetMate.resetInLove();
+            return;
+        }
+
+        if (child != null)
+        {
+            EntityPlayerMP player = this.animal.getLoveCause();
+
+            if (player == null && this.targetMate.getLoveCause() != null)
+            {
+                player = this.targetMate.getLoveCause();
+            }
+
+            if (player != null)
+            {
+                player.addStat(StatList.ANIMALS_BRED);
+                CriteriaTriggers.BRED_ANIMALS.trigger(player, this.animal, this.targetMate, child);
+            }
+
+            this.animal.setGrowingAge(6000);
+            this.targetMate.setGrowingAge(6000);
+            this.animal.resetInLove();
+            this.targetMate.resetInLove();
+            child.setGrowingAge(-24000);
+            child.setLocationAndAngles(this.animal.posX, this.animal.posY, this.animal.posZ, 0.0F, 0.0F);
+            this.world.spawnEntity(child);
+            Random random = this.animal.getRNG();
+
+            for (int i = 0; i < 7; ++i)
+            {
+                double motionX = random.nextGaussian() * 0.02D;
+                double motionY = random.nextGaussian() * 0.02D;
+                double motionZ = random.nextGaussian() * 0.02D;
+                double x = random.nextDouble() * (double)this.animal.width * 2.0D - 1.0D;
+                double y = 0.5D + random.nextDouble() * (double)this.animal.height;
+                double z = random.nextDouble() * (double)this.animal.width * 2.0D - 1.0D;
+                this.world.spawnParticle(EnumParticleTypes.HEART, this.animal.posX + x, this.animal.posY + y, this.animal.posZ + z, motionX, motionY, motionZ);
+            }
+
+            if (this.world.getGameRules().getBoolean("doMobLoot"))
+            {
+                this.world.spawnEntity(new EntityXPOrb(this.world, this.animal.posX, this.animal.posY, this.animal.posZ, random.nextInt(7) + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package familiarfauna.entities.ai;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.util.math.BlockPos;
+
+// Keeps a herd follower in its place around the leader. While it's close to the leader it steers straight for its
+// place, since the leader has already found a way through the ground in between. Only once it's been left behind
+// does it path find, and then only every REPATH_INTERVAL ticks. Too far behind and it leaves the herd altogether.
+// Also gives loners the chance to look for a herd.
+public class EntityAIHerdFollow extends EntityAIBase
+{
+    private static final double STEER_DISTANCE = 10.0D;
+    private static final double LEAVE_DISTANCE = 32.0D;
+    // how far out of place we get before catching up, and how close we get before stopping
+    private static final double SLACK = 2.0D;
+    private static final double CLOSE_ENOUGH = 1.5D;
+    private static final int REPATH_INTERVAL = 20;
+
+    private final EntityAnimal entity;
+    private final HerdMember member;
+    private final double speed;
+
+    private HerdMember leader;
+    private double targetX;
+    private double targetY;
+    private double targetZ;
+    private int repathDelay;
+
+    public EntityAIHerdFollow(EntityAnimal entity, HerdMember member, double speed)
+    {
+        this.entity = entity;
+        this.member = member;
+        this.speed = speed;
+        this.setMutexBits(1);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        this.member.trySearch();
+        return this.updateTarget() && this.entity.getDistanceSq(this.targetX, this.targetY, this.targetZ) > SLACK * SLACK;
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        return this.updateTarget() && this.entity.getDistanceSq(this.targetX, this.targetY, this.targetZ) > CLOSE_ENOUGH * CLOSE_ENOUGH;
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        this.repathDelay = 0;
+    }
+
+    @Override
+    public void resetTask()
+    {
+        this.leader = null;
+        this.entity.getNavigator().clearPath();
+    }
+
+    @Override
+    public void updateTask()
+    {
+        if (this.entity.getDistanceSq(this.leader.getEntity()) < STEER_DISTANCE * STEER_DISTANCE)
+        {
+            this.entity.getNavigator().clearPath();
+            this.entity.getMoveHelper().setMoveTo(this.targetX, this.targetY, this.targetZ, this.speed);
+
+            // the move helper won't jump up a block on its own
+            if (this.entity.collidedHorizontally && this.entity.onGround)
+            {
+                this.entity.getJumpHelper().setJumping();
+            }
+
+            ++Herd.followerSteers;
+        }
+        else if (--this.repathDelay <= 0)
+        {
+            this.repathDelay = REPATH_INTERVAL;
+            this.entity.getNavigator().tryMoveToXYZ(this.targetX, this.targetY, this.targetZ, this.speed);
+            ++Herd.followerPaths;
+        }
+    }
+
+    // find our place next to the leader, returns false if we aren't following anyone
+    private boolean updateTarget()
+    {
+        if (!this.member.isFollower())
+        {
+            return false;
+        }
+
+        this.leader = this.member.getHerd().getLeader();
+        EntityAnimal leaderEntity = this.leader.getEntity();
+
+        if (this.entity.getDistanceSq(leaderEntity) > LEAVE_DISTANCE * LEAVE_DISTANCE)
+        {
+            this.member.leaveHerd();
+            return false;
+        }
+
+        this.targetX = leaderEntity.posX + this.member.offsetX;
+        this.targetY = leaderEntity.posY;
+        this.targetZ = leaderEntity.posZ + this.member.offsetZ;
+
+        // keep to the leader's own footing rather than step off an edge or into water
+        BlockPos pos = new BlockPos(this.targetX, this.targetY, this.targetZ);
+
+        if (!this.entity.world.getBlockState(pos.down()).getMaterial().isSolid() || this.entity.world.getBlockState(pos).getMaterial() == Material.WATER)
+        {
+            this.targetX = leaderEntity.posX;
+            this.targetZ = leaderEntity.posZ;
+        }
+
+        return true;
+    }
+}
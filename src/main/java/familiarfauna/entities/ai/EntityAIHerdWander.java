@@ -0,0 +1,30 @@
+package familiarfauna.entities.ai;
+
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAIWanderAvoidWater;
+
+// EntityAIWanderAvoidWater for herd leaders and loners. Followers leave the wandering, and the path finding that
+// goes with it, to their leader.
+public class EntityAIHerdWander extends EntityAIWanderAvoidWater
+{
+    private final HerdMember member;
+
+    public EntityAIHerdWander(EntityCreature creature, HerdMember member, double speed)
+    {
+        super(creature, speed);
+        this.member = member;
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        return !this.member.isFollower() && super.shouldExecute();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        ++Herd.leaderPaths;
+        super.startExecuting();
+    }
+}
@@ -0,0 +1,52 @@
+package familiarfauna.entities.ai;
+
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.ai.EntityAIBase;
+
+// AI class for implementing the random flying behaviour of butterflies, dragonflies and pixies
+public class EntityAIRandomFly extends EntityAIBase
+{
+    private final EntityLiving entity;
+    private final FlyingInsectMoveHelper moveHelper;
+    private final FlightTuning tuning;
+
+    public EntityAIRandomFly(EntityLiving entity, FlyingInsectMoveHelper moveHelper, FlightTuning tuning)
+    {
+        this.entity = entity;
+        this.moveHelper = moveHelper;
+        this.tuning = tuning;
+        this.setMutexBits(1);
+    }
+
+    // should we choose a new random destination to fly to?
+    // yes, if we don't already have a destination
+    @Override
+    public boolean shouldExecute()
+    {
+        return !this.moveHelper.isUpdating();
+    }
+
+    @Override
+    public boolean shouldContinueExecuting() {return false;}
+
+    // choose a a new random destination to fly to
+    @Override
+    public void startExecuting()
+    {
+        FlightPerch perch = this.moveHelper.getPerch();
+
+        // sometimes head for a flower or leaves to land on instead
+        if (perch != null && perch.tryFindPerch(this.entity.getRNG()))
+        {
+            this.moveHelper.setMoveTo(perch.targetX, perch.targetY, perch.targetZ, 1.0D);
+            return;
+        }
+
+        FlightPlanner planner = FlightPlanner.get();
+
+        if (planner.plan(this.entity, this.tuning))
+        {
+            this.moveHelper.setMoveTo(planner.targetX, planner.targetY, planner.targetZ, 1.0D);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package familiarfauna.entities.ai;
+
+import java.util.Random;
+
+import familiarfauna.config.ConfigurationHandler;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Snail movement without the path finder. Every snailDecisionInterval ticks a snail may set off on a short crawl of a
+// few blocks. Each step of the crawl goes to one of the eight blocks around it (or one up or down a block), found by
+// looking at a handful of block states, and the move helper takes it there in a straight line. A snail keeps to
+// the same heading where it can, and turns aside when it can't.
+public class EntityAISnailCrawl extends EntityAIBase
+{
+    private static final int[] DIRECTION_X = new int[] {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] DIRECTION_Z = new int[] {0, 1, 1, 1, 0, -1, -1, -1};
+    // one in this many decisions sets off on a crawl, the rest the snail stays put
+    private static final int CRAWL_CHANCE = 4;
+    private static final int MAX_STEPS = 4;
+    // give up on a step that's taking this long, something's in the way
+    private static final int MAX_STEP_TICKS = 60;
+    private static final double ARRIVED_DISTANCE = 0.15D;
+
+    // running totals for /familiarfauna stats
+    public static long steps;
+    public static long blockChecks;
+
+    private final EntityCreature entity;
+    private final double speed;
+    private final BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+
+    private long nextDecisionTime;
+    private int stepsLeft;
+    private int heading;
+    private BlockPos target;
+    private int stepTicks;
+
+    public EntityAISnailCrawl(EntityCreature entity, double speed)
+    {
+        this.entity = entity;
+        this.speed = speed;
+        this.setMutexBits(1);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        Random rand = this.entity.getRNG();
+
+        if (this.stepsLeft <= 0)
+        {
+            long time = this.entity.world.getTotalWorldTime();
+
+            if (time < this.nextDecisionTime)
+            {
+                return false;
+            }
+
+            this.nextDecisionTime = time + ConfigurationHandler.snailDecisionInterval;
+
+            if (rand.nextInt(CRAWL_CHANCE) != 0)
+            {
+                return false;
+            }
+
+            this.stepsLeft = 1 + rand.nextInt(MAX_STEPS);
+            this.heading = rand.nextInt(DIRECTION_X.length);
+        }
+
+        this.target = this.findStep(rand);
+
+        if (this.target == null)
+        {
+            this.stepsLeft = 0;
+            return false;
+        }
+
+        ++steps;
+        return true;
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        return this.stepTicks < MAX_STEP_TICKS && !this.hasArrived();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        this.stepTicks = 0;
+    }
+
+    @Override
+    public void resetTask()
+    {
+        // carry on with the crawl if we made it, otherwise stop and rest
+        this.stepsLeft = this.hasArrived() ? this.stepsLeft - 1 : 0;
+        this.target = null;
+    }
+
+    @Override
+    public void updateTask()
+    {
+        ++this.stepTicks;
+        this.entity.getMoveHelper().setMoveTo((double)this.target.getX() + 0.5D, (double)this.target.getY(), (double)this.target.getZ() + 0.5D, this.speed);
+    }
+
+    private boolean hasArrived()
+    {
+        double x = (double)this.target.getX() + 0.5D - this.entity.posX;
+        double z = (double)this.target.getZ() + 0.5D - this.entity.posZ;
+        return x * x + z * z < ARRIVED_DISTANCE * ARRIVED_DISTANCE;
+    }
+
+    // the next block to crawl to: straight on if we can, otherwise veering one way or the other
+    private BlockPos findStep(Random rand)
+    {
+        int turn = rand.nextBoolean() ? 1 : -1;
+        int[] headings = new int[] {this.heading, this.heading + turn, this.heading - turn};
+        int x = MathHelper.floor(this.entity.posX);
+        int y = MathHelper.floor(this.entity.posY);
+        int z = MathHelper.floor(this.entity.posZ);
+        World world = this.entity.world;
+
+        for (int heading : headings)
+        {
+            int direction = Math.floorMod(heading, DIRECTION_X.length);
+            int stepX = x + DIRECTION_X[direction];
+            int stepZ = z + DIRECTION_Z[direction];
+
+            if (!world.isBlockLoaded(this.checkPos.setPos(stepX, y, stepZ)))
+            {
+                continue;
+            }
+
+            // level, then up a block if there's room above us, then down a block
+            if (this.canStandAt(world, stepX, y, stepZ)
+                || (this.isPassable(world, x, y + 1, z) && this.canStandAt(world, stepX, y + 1, stepZ))
+                || (this.isPassable(world, stepX, y, stepZ) && this.canStandAt(world, stepX, y - 1, stepZ)))
+            {
+                this.heading = direction;
+                return this.checkPos.toImmutable();
+            }
+        }
+
+        return null;
+    }
+
+    // leaves checkPos at (x, y, z)
+    private boolean canStandAt(World world, int x, int y, int z)
+    {
+        if (!this.isPassable(world, x, y - 1, z))
+        {
+            return this.isPassable(world, x, y, z);
+        }
+
+        return false;
+    }
+
+    // leaves checkPos at (x, y, z)
+    private boolean isPassable(World world, int x, int y, int z)
+    {
+        ++blockChecks;
+        IBlockState state = world.getBlockState(this.checkPos.setPos(x, y, z));
+        Material material = state.getMaterial();
+        return !material.blocksMovement() && material != Material.LAVA && material != Material.FIRE;
+    }
+}
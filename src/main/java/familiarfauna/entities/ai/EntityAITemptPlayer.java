@@ -0,0 +1,132 @@
+package familiarfauna.entities.ai;
+
+import java.util.Set;
+
+import com.google.common.base.Predicate;
+
+import familiarfauna.util.population.PlayerGrid;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.ai.EntityAIBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.Item;
+
+// EntityAITempt, finding the player to follow through the world's PlayerGrid rather than the world's player list.
+// Unlike EntityAITempt it follows the closest player holding something tempting, not only the closest player.
+public class EntityAITemptPlayer extends EntityAIBase
+{
+    private static final double TEMPT_DISTANCE = 10.0D;
+
+    private final EntityCreature temptedEntity;
+    private final double speed;
+    private final boolean scaredByPlayerMovement;
+    private final Set<Item> temptItems;
+    private final Predicate<EntityPlayer> temptingSelector;
+
+    private double targetX;
+    private double targetY;
+    private double targetZ;
+    private double pitch;
+    private double yaw;
+    private EntityPlayer temptingPlayer;
+    private int delayTemptCounter;
+
+    public EntityAITemptPlayer(EntityCreature temptedEntity, double speed, boolean scaredByPlayerMovement, Set<Item> temptItems)
+    {
+        this.temptedEntity = temptedEntity;
+        this.speed = speed;
+        this.scaredByPlayerMovement = scaredByPlayerMovement;
+        this.temptItems = temptItems;
+        this.temptingSelector = new Predicate<EntityPlayer>()
+        {
+            @Override
+            public boolean apply(EntityPlayer player)
+            {
+                return !player.isSpectator() && (EntityAITemptPlayer.this.temptItems.contains(player.getHeldItemMainhand().getItem()) || EntityAITemptPlayer.this.temptItems.contains(player.getHeldItemOffhand().getItem()));
+            }
+        };
+        this.setMutexBits(3);
+    }
+
+    @Override
+    public boolean shouldExecute()
+    {
+        if (this.delayTemptCounter > 0)
+        {
+            --this.delayTemptCounter;
+            return false;
+        }
+
+        PlayerGrid grid = PlayerGrid.forWorld(this.temptedEntity.world);
+
+        if (grid == null)
+        {
+            return false;
+        }
+
+        this.temptingPlayer = grid.getClosestPlayer(this.temptedEntity, TEMPT_DISTANCE, this.temptingSelector);
+        return this.temptingPlayer != null;
+    }
+
+    @Override
+    public boolean shouldContinueExecuting()
+    {
+        // skittish animals give up if the player moves or turns while close by
+        if (this.scaredByPlayerMovement)
+        {
+            if (this.temptedEntity.getDistanceSq(this.temptingPlayer) < 36.0D)
+            {
+                if (this.temptingPlayer.getDistanceSq(this.targetX, this.targetY, this.targetZ) > 0.010000000000000002D)
+                {
+                    return false;
+                }
+
+                if (Math.abs((double)this.temptingPlayer.rotationPitch - this.pitch) > 5.0D || Math.abs((double)this.temptingPlayer.rotationYaw - this.yaw) > 5.0D)
+                {
+                    return false;
+                }
+            }
+            else
+            {
+                this.targetX = this.temptingPlayer.posX;
+                this.targetY = this.temptingPlayer.posY;
+                this.targetZ = this.temptingPlayer.posZ;
+            }
+
+            this.pitch = (double)this.temptingPlayer.rotationPitch;
+            this.yaw = (double)this.temptingPlayer.rotationYaw;
+        }
+
+        return this.shouldExecute();
+    }
+
+    @Override
+    public void startExecuting()
+    {
+        this.targetX = this.temptingPlayer.posX;
+        this.targetY = this.temptingPlayer.posY;
+        this.targetZ = this.temptingPlayer.posZ;
+    }
+
+    @Override
+    public void resetTask()
+    {
+        this.temptingPlayer = null;
+        this.temptedEntity.getNavigator().clearPath();
+        this.delayTemptCounter = 100;
+    }
+
+    @Override
+    public void updateTask()
+    {
+        this.temptedEntity.getLookHelper().setLookPositionWithEntity(this.temptingPlayer, (float)(this.temptedEntity.getHorizontalFaceSpeed() + 20), (float)this.temptedEntity.getVerticalFaceSpeed());
+
+        if (this.temptedEntity.getDistanceSq(this.temptingPlayer) < 6.25D)
+        {
+            this.temptedEntity.getNavigator().clearPath();
+        }
+        else
+        {
+            this.temptedEntity.getNavigator().tryMoveToEntityLiving(this.temptingPlayer, this.speed);
+        }
+    }
+}
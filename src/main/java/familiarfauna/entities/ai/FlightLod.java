@@ -0,0 +1,153 @@
+package familiarfauna.entities.ai;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import familiarfauna.config.ConfigurationHandler;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.MoverType;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+
+// Server side level of detail for a flyer. Every so often the distance to the nearest player is checked and the
+// entity is put in a FlightTier, which the move helper and travel use to decide how much work to do each tick.
+// Client side entities never leave NEAR and aren't counted. Most only interpolate what the server sends, and the
+// client-side insects (see AmbientInsects) that are steered in the client world never stray far from the player.
+// Keeping them out of the counts also keeps the client thread away from TIER_COUNTS, which belongs to the server.
+public class FlightLod
+{
+    // ticks between tier checks, spread out over entity ids so they don't all check on the same tick
+    private static final int RECHECK_INTERVAL = 20;
+
+    // per world entity counts for each tier, shown by /familiarfauna stats
+    private static final Map<World, int[]> TIER_COUNTS = Maps.newIdentityHashMap();
+
+    private final EntityLiving entity;
+    private FlightTier tier = FlightTier.NEAR;
+    // the world our entity was counted in, null if it isn't counted
+    private World countedIn;
+
+    public FlightLod(EntityLiving entity)
+    {
+        this.entity = entity;
+    }
+
+    public FlightTier getTier()
+    {
+        return this.tier;
+    }
+
+    // called by the move helper at the start of each tick it runs
+    public void update()
+    {
+        if (this.entity.world.isRemote)
+        {
+            return;
+        }
+
+        if (this.countedIn == null || (this.entity.ticksExisted + this.entity.getEntityId()) % RECHECK_INTERVAL == 0)
+        {
+            this.setTier(this.chooseTier());
+        }
+    }
+
+    public boolean isMoveHelperTick()
+    {
+        return this.isStepTick(this.tier.moveHelperInterval);
+    }
+
+    public boolean isCoarseTravel()
+    {
+        return this.tier.travelStep > 1;
+    }
+
+    // move through the air for a whole travel step at once, and do nothing on the ticks in between
+    // only valid without steering input, which is always the case for our flyers as they are pushed by the move helper instead
+    public void travelCoarse()
+    {
+        if (this.isStepTick(this.tier.travelStep))
+        {
+            this.entity.move(MoverType.SELF, this.entity.motionX * this.tier.travelDistanceScale, this.entity.motionY * this.tier.travelDistanceScale, this.entity.motionZ * this.tier.travelDistanceScale);
+            this.entity.motionX *= this.tier.travelDrag;
+            this.entity.motionY *= this.tier.travelDrag;
+            this.entity.motionZ *= this.tier.travelDrag;
+        }
+    }
+
+    // called by FFWorldEventListener when our entity leaves its world
+    public void onRemoved()
+    {
+        if (this.countedIn != null)
+        {
+            int[] counts = TIER_COUNTS.get(this.countedIn);
+
+            if (counts != null)
+            {
+                --counts[this.tier.ordinal()];
+            }
+
+            this.countedIn = null;
+        }
+    }
+
+    public static int[] getTierCounts(World world)
+    {
+        return TIER_COUNTS.get(world);
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        TIER_COUNTS.remove(world);
+    }
+
+    private boolean isStepTick(int interval)
+    {
+        return interval <= 1 || (this.entity.ticksExisted + this.entity.getEntityId()) % interval == 0;
+    }
+
+    private FlightTier chooseTier()
+    {
+        EntityPlayer player = this.entity.world.getClosestPlayer(this.entity.posX, this.entity.posY, this.entity.posZ, -1.0D, false);
+
+        if (player == null)
+        {
+            return FlightTier.FAR;
+        }
+
+        double distanceSq = player.getDistanceSq(this.entity);
+        double near = (double)ConfigurationHandler.flyerLodNearDistance;
+        double far = (double)ConfigurationHandler.flyerLodFarDistance;
+
+        if (distanceSq < near * near)
+        {
+            return FlightTier.NEAR;
+        }
+
+        return distanceSq < far * far ? FlightTier.MID : FlightTier.FAR;
+    }
+
+    private void setTier(FlightTier newTier)
+    {
+        World world = this.entity.world;
+
+        if (this.countedIn == world && this.tier == newTier)
+        {
+            return;
+        }
+
+        this.onRemoved();
+
+        int[] counts = TIER_COUNTS.get(world);
+
+        if (counts == null)
+        {
+            counts = new int[FlightTier.values().length];
+            TIER_COUNTS.put(world, counts);
+        }
+
+        ++counts[newTier.ordinal()];
+        this.tier = newTier;
+        this.countedIn = world;
+    }
+}
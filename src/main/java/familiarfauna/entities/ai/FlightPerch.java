@@ -0,0 +1,177 @@
+package familiarfauna.entities.ai;
+
+import java.util.Random;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Lets an insect land on a flower or leaves and sit there doing nothing until it's disturbed.
+// While perched the entity blocks its own movement (so the AI tasks and move helper don't run) and skips travel.
+// It's woken by damage, by a change to the block it's sitting on or a player coming close (both through
+// PerchRegistry), by anything bumping into it or when it gets bored.
+public class FlightPerch
+{
+    private static final int SCAN_DEPTH = 4;
+    private static final int MIN_PERCH_TIME = 200;
+    private static final int RANDOM_PERCH_TIME = 400;
+
+    private final EntityLiving entity;
+    // one in this many new destinations is a perch, if there's one below
+    private final int chance;
+    private final BlockPos.MutableBlockPos scanPos = new BlockPos.MutableBlockPos();
+
+    // the block we're flying down to or sitting on
+    private BlockPos perchPos;
+    private boolean landing;
+    private boolean perched;
+    private long wakeTime;
+
+    public double targetX;
+    public double targetY;
+    public double targetZ;
+
+    public FlightPerch(EntityLiving entity, int chance)
+    {
+        this.entity = entity;
+        this.chance = chance;
+    }
+
+    public boolean isPerched()
+    {
+        return this.perched;
+    }
+
+    EntityLiving getEntity()
+    {
+        return this.entity;
+    }
+
+    // look for a flower or leaves a little below us, returns true and sets targetX/Y/Z if we should land on one
+    public boolean tryFindPerch(Random rand)
+    {
+        this.landing = false;
+
+        if (rand.nextInt(this.chance) != 0)
+        {
+            return false;
+        }
+
+        PerchRegistry registry = PerchRegistry.forWorld(this.entity.world);
+
+        if (registry == null)
+        {
+            return false;
+        }
+
+        World world = this.entity.world;
+        int x = MathHelper.floor(this.entity.posX) + rand.nextInt(5) - 2;
+        int z = MathHelper.floor(this.entity.posZ) + rand.nextInt(5) - 2;
+        int top = MathHelper.floor(this.entity.posY);
+
+        for (int y = top; y > top - SCAN_DEPTH && y >= 0; --y)
+        {
+            this.scanPos.setPos(x, y, z);
+
+            if (!world.isBlockLoaded(this.scanPos))
+            {
+                return false;
+            }
+
+            IBlockState state = world.getBlockState(this.scanPos);
+
+            if (state.getMaterial() == Material.AIR)
+            {
+                continue;
+            }
+
+            if (!isPerchable(state) || registry.isOccupied(this.scanPos))
+            {
+                return false;
+            }
+
+            this.perchPos = this.scanPos.toImmutable();
+            this.targetX = x + 0.5D;
+            this.targetY = y + state.getBoundingBox(world, this.perchPos).maxY;
+            this.targetZ = z + 0.5D;
+            this.landing = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    // called by the move helper when it reaches its target
+    public void onArrived()
+    {
+        if (!this.landing)
+        {
+            return;
+        }
+
+        this.landing = false;
+        PerchRegistry registry = PerchRegistry.forWorld(this.entity.world);
+
+        if (registry == null || registry.isOccupied(this.perchPos) || !isPerchable(this.entity.world.getBlockState(this.perchPos)))
+        {
+            return;
+        }
+
+        this.perched = true;
+        this.wakeTime = this.entity.world.getTotalWorldTime() + MIN_PERCH_TIME + this.entity.getRNG().nextInt(RANDOM_PERCH_TIME);
+        this.entity.motionX = 0.0D;
+        this.entity.motionY = 0.0D;
+        this.entity.motionZ = 0.0D;
+        registry.add(this.perchPos, this);
+    }
+
+    // called each server tick while perched
+    public void update()
+    {
+        if (this.entity.world.getTotalWorldTime() >= this.wakeTime)
+        {
+            this.wake();
+        }
+        // we were still when we landed, so any motion since is something pushing into us
+        else if (this.entity.motionX != 0.0D || this.entity.motionY != 0.0D || this.entity.motionZ != 0.0D)
+        {
+            this.wake();
+        }
+    }
+
+    public void wake()
+    {
+        if (this.perched)
+        {
+            this.onRemoved();
+            // take off with a little hop
+            this.entity.motionY += 0.1D;
+        }
+    }
+
+    // called by FFWorldEventListener when our entity leaves its world
+    public void onRemoved()
+    {
+        this.landing = false;
+
+        if (this.perched)
+        {
+            this.perched = false;
+            PerchRegistry registry = PerchRegistry.forWorld(this.entity.world);
+
+            if (registry != null)
+            {
+                registry.remove(this.perchPos, this);
+            }
+        }
+    }
+
+    private static boolean isPerchable(IBlockState state)
+    {
+        Material material = state.getMaterial();
+        return material == Material.LEAVES || material == Material.PLANTS;
+    }
+}
@@ -0,0 +1,167 @@
+package familiarfauna.entities.ai;
+
+import java.util.Random;
+
+import familiarfauna.util.collision.CollisionSnapshot;
+import familiarfauna.util.collision.SolidVoxelCache;
+import familiarfauna.util.collision.SweptBoxTracer;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Picks the next random-fly destination. Every candidate (two random points, then each axis in a random order) is
+// generated up front, and they are checked in that order so the first clear one wins, as it did when each attempt
+// was tried separately. Most of the time the first candidate is clear, so it is swept against the voxel cache directly;
+// once it fails, the blocks around the entity are copied into a single CollisionSnapshot and the rest of the batch is
+// swept against that.
+public class FlightPlanner
+{
+    private static final EnumFacing[] FACINGS = EnumFacing.values();
+    private static final int MAX_CANDIDATES = 2 + FACINGS.length;
+    private static final double PROBE_DISTANCE = 5.0D;
+
+    // the AI only runs on the server thread, but give each thread its own planner rather than rely on that
+    private static final ThreadLocal<FlightPlanner> PLANNERS = new ThreadLocal<FlightPlanner>()
+    {
+        @Override
+        protected FlightPlanner initialValue()
+        {
+            return new FlightPlanner();
+        }
+    };
+
+    // running totals for /familiarfauna stats
+    public static long plans;
+    public static long candidatesChecked;
+    public static long snapshotsTaken;
+    public static long snapshotRows;
+    public static long snapshotReads;
+    public static long worldReads;
+    // how many World.getCollisionBoxes calls the old sampled path checks would have made for the same candidates
+    public static long legacyQueries;
+
+    private final SweptBoxTracer tracer = new SweptBoxTracer();
+    private final CollisionSnapshot snapshot = new CollisionSnapshot();
+    private final double[] candidates = new double[MAX_CANDIDATES * 3];
+
+    public double targetX;
+    public double targetY;
+    public double targetZ;
+
+    public static FlightPlanner get()
+    {
+        return PLANNERS.get();
+    }
+
+    // returns true and sets targetX/Y/Z if a clear destination was found
+    public boolean plan(EntityLiving entity, FlightTuning tuning)
+    {
+        Random rand = entity.getRNG();
+        int count = 0;
+
+        // pick a random nearby point, then another (possibly closer) one
+        count = this.addRandomCandidate(rand, tuning, tuning.wanderDistance, count);
+        count = this.addRandomCandidate(rand, tuning, tuning.retryDistance, count);
+
+        // then straight along each axis, in random order - remaining holds one bit per direction not yet added
+        int remaining = (1 << FACINGS.length) - 1;
+        for (int left = FACINGS.length; left > 0; --left)
+        {
+            int pick = rand.nextInt(left);
+            int index = 0;
+            while ((remaining & (1 << index)) == 0 || pick-- > 0)
+            {
+                ++index;
+            }
+            remaining &= ~(1 << index);
+
+            count = this.addAxisCandidate(rand, tuning, FACINGS[index], tuning.axisDistance, count);
+        }
+
+        World world = entity.world;
+        AxisAlignedBB box = entity.getEntityBoundingBox();
+        SolidVoxelCache cache = SolidVoxelCache.forWorld(world);
+        CollisionSnapshot snapshot = null;
+        boolean found = false;
+
+        ++plans;
+        this.tracer.resetCounts();
+
+        for (int i = 0; i < count; ++i)
+        {
+            if (i == 1 && cache != null)
+            {
+                // centre the region on the entity, the probe reaches at most PROBE_DISTANCE plus half the box either way
+                snapshotRows += this.snapshot.capture(cache, MathHelper.floor(entity.posX) - CollisionSnapshot.SIZE / 2, MathHelper.floor(entity.posY) - CollisionSnapshot.SIZE / 2, MathHelper.floor(entity.posZ) - CollisionSnapshot.SIZE / 2);
+                snapshot = this.snapshot;
+                ++snapshotsTaken;
+            }
+
+            double dirX = this.candidates[i * 3];
+            double dirY = this.candidates[i * 3 + 1];
+            double dirZ = this.candidates[i * 3 + 2];
+            double dist = (double)MathHelper.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+            double howFar = Math.min(PROBE_DISTANCE, dist);
+
+            ++candidatesChecked;
+            legacyQueries += howFar > 0.5D ? MathHelper.ceil(howFar - 0.5D) + 1 : 1;
+
+            boolean clear;
+            if (dist == 0.0D)
+            {
+                clear = this.tracer.isSweepClear(world, snapshot, box, 0.0D, 0.0D, 0.0D, 0.0D, 0.0D);
+            }
+            else
+            {
+                clear = this.tracer.isSweepClear(world, snapshot, box, dirX / dist, dirY / dist, dirZ / dist, Math.min(0.5D, howFar), howFar);
+            }
+
+            if (clear)
+            {
+                this.targetX = entity.posX + dirX;
+                this.targetY = entity.posY + dirY;
+                this.targetZ = entity.posZ + dirZ;
+                found = true;
+                break;
+            }
+        }
+
+        snapshotReads += this.tracer.snapshotReads;
+        worldReads += this.tracer.worldReads;
+        return found;
+    }
+
+    // note y direction can have a slight downward bias to stop them flying too high
+    private int addRandomCandidate(Random rand, FlightTuning tuning, double maxDistance, int count)
+    {
+        this.candidates[count * 3] = (rand.nextDouble() * 2.0D - 1.0D) * maxDistance;
+        this.candidates[count * 3 + 1] = (rand.nextDouble() * 2.0D - 1.0D - tuning.verticalBias) * (maxDistance * tuning.verticalScale);
+        this.candidates[count * 3 + 2] = (rand.nextDouble() * 2.0D - 1.0D) * maxDistance;
+        return count + 1;
+    }
+
+    private int addAxisCandidate(Random rand, FlightTuning tuning, EnumFacing facing, double maxDistance, int count)
+    {
+        double dirX = 0.0D;
+        double dirY = 0.0D;
+        double dirZ = 0.0D;
+        switch (facing.getAxis())
+        {
+            case X:
+                dirX = rand.nextDouble() * facing.getAxisDirection().getOffset() * maxDistance;
+                break;
+            case Y:
+                dirY = rand.nextDouble() * facing.getAxisDirection().getOffset() * (maxDistance * tuning.verticalScale);
+                break;
+            case Z: default:
+                dirZ = rand.nextDouble() * facing.getAxisDirection().getOffset() * maxDistance;
+                break;
+        }
+        this.candidates[count * 3] = dirX;
+        this.candidates[count * 3 + 1] = dirY;
+        this.candidates[count * 3 + 2] = dirZ;
+        return count + 1;
+    }
+}
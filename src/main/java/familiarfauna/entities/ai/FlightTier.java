@@ -0,0 +1,36 @@
+package familiarfauna.entities.ai;
+
+// How often a flyer's steering and movement are updated, chosen by FlightLod from the distance to the nearest player
+public enum FlightTier
+{
+    NEAR(1, 1),
+    MID(2, 1),
+    FAR(4, 4);
+
+    // air drag applied by the flyers' travel each tick
+    private static final double DRAG = (double)0.91F;
+
+    // the move helper only runs every this many ticks, which also stretches its course change cooldown by the same factor
+    public final int moveHelperInterval;
+    // travel through the air is integrated this many ticks at a time
+    public final int travelStep;
+    // with no steering input, k ticks of drag move the entity motion * (1 + d + ... + d^(k-1)) and leave motion * d^k
+    public final double travelDistanceScale;
+    public final double travelDrag;
+
+    private FlightTier(int moveHelperInterval, int travelStep)
+    {
+        this.moveHelperInterval = moveHelperInterval;
+        this.travelStep = travelStep;
+
+        double drag = 1.0D;
+        double distanceScale = 0.0D;
+        for (int i = 0; i < travelStep; ++i)
+        {
+            distanceScale += drag;
+            drag *= DRAG;
+        }
+        this.travelDistanceScale = distanceScale;
+        this.travelDrag = drag;
+    }
+}
@@ -0,0 +1,38 @@
+package familiarfauna.entities.ai;
+
+// The per-species numbers that FlyingInsectMoveHelper and EntityAIRandomFly are steered by
+public class FlightTuning
+{
+    // how hard the insect pushes towards its target each time it changes course
+    public final double acceleration;
+    // ticks between course changes, cooldownMin + rand(cooldownRandom)
+    public final int cooldownMin;
+    public final int cooldownRandom;
+    // extra ticks to hover after arriving at (or giving up on) a target, restMin + rand(restRandom), no rest if restRandom is 0
+    public final int restMin;
+    public final int restRandom;
+    // how far ahead the move helper looks for obstructions while flying
+    public final double probeDistance;
+    // range of the first and second random wander attempts, then of the fallback attempts along each axis
+    public final double wanderDistance;
+    public final double retryDistance;
+    public final double axisDistance;
+    // vertical wander range as a fraction of the horizontal one, and how far (as a fraction of the range) random attempts are pushed downwards
+    public final double verticalScale;
+    public final double verticalBias;
+
+    public FlightTuning(double acceleration, int cooldownMin, int cooldownRandom, int restMin, int restRandom, double probeDistance, double wanderDistance, double retryDistance, double axisDistance, double verticalScale, double verticalBias)
+    {
+        this.acceleration = acceleration;
+        this.cooldownMin = cooldownMin;
+        this.cooldownRandom = cooldownRandom;
+        this.restMin = restMin;
+        this.restRandom = restRandom;
+        this.probeDistance = probeDistance;
+        this.wanderDistance = wanderDistance;
+        this.retryDistance = retryDistance;
+        this.axisDistance = axisDistance;
+        this.verticalScale = verticalScale;
+        this.verticalBias = verticalBias;
+    }
+}
@@ -0,0 +1,107 @@
+package familiarfauna.entities.ai;
+
+import familiarfauna.util.collision.SweptBoxTracer;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.ai.EntityMoveHelper;
+import net.minecraft.util.math.MathHelper;
+
+// Shared move helper for butterflies, dragonflies and pixies, which accelerates straight towards the target set by setMoveTo
+public class FlyingInsectMoveHelper extends EntityMoveHelper
+{
+    // EntityMoveHelper has the boolean 'update' which is set to true when the target is changed, and set to false when a bearing is set
+    // So it means 'the target has changed but we're not yet heading for it'
+    // We'll re-use it here with a slightly different interpretation
+    // Here it will mean 'has a target and not yet arrived'
+
+    private static final double CLOSE_ENOUGH = 0.3D;
+
+    private final FlightTuning tuning;
+    private final FlightLod lod;
+    // null for insects that never perch
+    private final FlightPerch perch;
+    private final SweptBoxTracer tracer = new SweptBoxTracer();
+    private int courseChangeCooldown = 0;
+
+    public FlyingInsectMoveHelper(EntityLiving entity, FlightTuning tuning, FlightLod lod, FlightPerch perch)
+    {
+        super(entity);
+        this.tuning = tuning;
+        this.lod = lod;
+        this.perch = perch;
+    }
+
+    public FlightLod getLod()
+    {
+        return this.lod;
+    }
+
+    public FlightPerch getPerch()
+    {
+        return this.perch;
+    }
+
+    @Override
+    public void onUpdateMoveHelper()
+    {
+        // far from players we only steer every few ticks, the course change cooldown below then counts in those steps
+        this.lod.update();
+        if (!this.lod.isMoveHelperTick())
+        {
+            return;
+        }
+
+        // if we have arrived at the previous target, or we have no target to aim for, do nothing
+        if (this.action != Action.MOVE_TO)
+        {
+            return;
+        }
+
+        // limit the rate at which we change course
+        if (this.courseChangeCooldown-- > 0)
+        {
+            return;
+        }
+        this.courseChangeCooldown += this.entity.getRNG().nextInt(this.tuning.cooldownRandom) + this.tuning.cooldownMin;
+
+        double distX = this.posX - this.entity.posX;
+        double distY = this.posY - this.entity.posY;
+        double distZ = this.posZ - this.entity.posZ;
+        double dist = (double)MathHelper.sqrt(distX * distX + distY * distY + distZ * distZ);
+
+        // (aimX,aimY,aimZ) is a unit vector in the direction we want to go
+        double aimX = dist == 0.0D ? 0.0D : distX / dist;
+        double aimY = dist == 0.0D ? 0.0D : distY / dist;
+        double aimZ = dist == 0.0D ? 0.0D : distZ / dist;
+
+        // accelerate towards the target
+        this.entity.motionX += aimX * this.tuning.acceleration;
+        this.entity.motionY += aimY * this.tuning.acceleration;
+        this.entity.motionZ += aimZ * this.tuning.acceleration;
+
+        // rotate to point at target
+        this.entity.renderYawOffset = this.entity.rotationYaw = -((float)Math.atan2(distX, distZ)) * 180.0F / (float)Math.PI;
+
+        // abandon this movement if we have reached the target or there is no longer a clear path to the target
+        if (!this.isSweepClear(aimX, aimY, aimZ, Math.min(this.tuning.probeDistance, dist)) || dist < CLOSE_ENOUGH)
+        {
+            this.action = Action.WAIT;
+
+            if (dist < CLOSE_ENOUGH && this.perch != null)
+            {
+                this.perch.onArrived();
+            }
+
+            if (this.tuning.restRandom > 0)
+            {
+                this.courseChangeCooldown += this.entity.getRNG().nextInt(this.tuning.restRandom) + this.tuning.restMin;
+            }
+        }
+    }
+
+    // check nothing will collide with the insect in the direction of aim, for howFar units
+    // the sweep starts half a block out, where the first sampled box used to be
+    private boolean isSweepClear(double aimX, double aimY, double aimZ, double howFar)
+    {
+        return this.tracer.isSweepClear(this.entity.world, this.entity.getEntityBoundingBox(), aimX, aimY, aimZ, Math.min(0.5D, howFar), howFar);
+    }
+}
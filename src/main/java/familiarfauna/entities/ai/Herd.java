@@ -0,0 +1,81 @@
+package familiarfauna.entities.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.passive.EntityAnimal;
+
+// A group of deer or turkey that move together. The oldest member leads: it wanders and path finds as a lone
+// animal would, while the others hold a place around it (see EntityAIHerdFollow) and only path find for themselves
+// once they've been separated from it. When one member is hurt the whole herd panics.
+// Herds aren't saved, animals loaded back in simply find each other again (see HerdMember).
+public class Herd
+{
+    public static final int MAX_SIZE = 8;
+
+    // running totals for /familiarfauna stats
+    public static long leaderPaths;
+    public static long followerPaths;
+    public static long followerSteers;
+    public static long panicsShared;
+
+    private final List<HerdMember> members = new ArrayList<HerdMember>(4);
+
+    // the member the rest follow, or null once the herd has broken up
+    public HerdMember getLeader()
+    {
+        // a dead leader hands over to the next oldest member
+        while (!this.members.isEmpty() && !this.members.get(0).getEntity().isEntityAlive())
+        {
+            this.remove(this.members.get(0));
+        }
+
+        return this.members.isEmpty() ? null : this.members.get(0);
+    }
+
+    public int size()
+    {
+        return this.members.size();
+    }
+
+    public boolean isFull()
+    {
+        return this.members.size() >= MAX_SIZE;
+    }
+
+    void add(HerdMember member)
+    {
+        this.members.add(member);
+        member.herd = this;
+    }
+
+    void remove(HerdMember member)
+    {
+        if (this.members.remove(member))
+        {
+            member.herd = null;
+        }
+
+        // a herd of one is just an animal
+        if (this.members.size() == 1)
+        {
+            this.members.remove(0).herd = null;
+        }
+    }
+
+    // set every other member running from attacker
+    public void panic(HerdMember source, EntityLivingBase attacker)
+    {
+        for (int i = 0; i < this.members.size(); ++i)
+        {
+            EntityAnimal entity = this.members.get(i).getEntity();
+
+            if (this.members.get(i) != source && entity.isEntityAlive())
+            {
+                entity.setRevengeTarget(attacker);
+                ++panicsShared;
+            }
+        }
+    }
+}
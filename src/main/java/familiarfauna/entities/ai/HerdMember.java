@@ -0,0 +1,120 @@
+package familiarfauna.entities.ai;
+
+import java.util.List;
+
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.util.math.MathHelper;
+
+// An animal's place in its Herd. Adults without a herd look around for others of their kind every SEARCH_INTERVAL
+// ticks and join the nearest herd with room, or start one with the nearest loner.
+public class HerdMember
+{
+    private static final int SEARCH_INTERVAL = 100;
+    private static final double JOIN_DISTANCE = 12.0D;
+    // how far from the leader a follower keeps
+    private static final double MIN_OFFSET = 2.0D;
+    private static final double RANDOM_OFFSET = 2.0D;
+
+    private final EntityAnimal entity;
+    Herd herd;
+    private long nextSearchTime;
+
+    // where we stand relative to the leader
+    public double offsetX;
+    public double offsetZ;
+
+    public HerdMember(EntityAnimal entity)
+    {
+        this.entity = entity;
+    }
+
+    public EntityAnimal getEntity()
+    {
+        return this.entity;
+    }
+
+    public Herd getHerd()
+    {
+        return this.herd;
+    }
+
+    public boolean isFollower()
+    {
+        if (this.herd == null)
+        {
+            return false;
+        }
+
+        // looking for the leader can break up the herd
+        HerdMember leader = this.herd.getLeader();
+        return leader != null && leader != this;
+    }
+
+    // called regularly by EntityAIHerdFollow, only actually searches every SEARCH_INTERVAL ticks
+    public void trySearch()
+    {
+        if (this.herd != null || this.entity.isChild() || this.entity.world.getTotalWorldTime() < this.nextSearchTime)
+        {
+            return;
+        }
+
+        this.nextSearchTime = this.entity.world.getTotalWorldTime() + SEARCH_INTERVAL + this.entity.getRNG().nextInt(20);
+
+        List<EntityAnimal> nearby = this.entity.world.<EntityAnimal>getEntitiesWithinAABB(this.entity.getClass(), this.entity.getEntityBoundingBox().grow(JOIN_DISTANCE, 4.0D, JOIN_DISTANCE));
+        HerdMember nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+
+        for (EntityAnimal other : nearby)
+        {
+            if (other == this.entity || other.isChild() || !other.isEntityAlive() || !(other instanceof IHerdAnimal))
+            {
+                continue;
+            }
+
+            HerdMember member = ((IHerdAnimal)other).getHerdMember();
+
+            if (member.herd != null && member.herd.isFull())
+            {
+                continue;
+            }
+
+            double distance = this.entity.getDistanceSq(other);
+
+            if (distance < nearestDistance)
+            {
+                nearest = member;
+                nearestDistance = distance;
+            }
+        }
+
+        if (nearest != null)
+        {
+            if (nearest.herd == null)
+            {
+                nearest.joinHerd(new Herd());
+            }
+
+            this.joinHerd(nearest.herd);
+        }
+    }
+
+    public void leaveHerd()
+    {
+        if (this.herd != null)
+        {
+            this.herd.remove(this);
+        }
+
+        // don't go straight back to the herd we just left
+        this.nextSearchTime = this.entity.world.getTotalWorldTime() + SEARCH_INTERVAL;
+    }
+
+    private void joinHerd(Herd newHerd)
+    {
+        newHerd.add(this);
+        float angle = this.entity.getRNG().nextFloat() * ((float)Math.PI * 2F);
+        double distance = MIN_OFFSET + this.entity.getRNG().nextDouble() * RANDOM_OFFSET;
+        this.offsetX = (double)MathHelper.cos(angle) * distance;
+        this.offsetZ = (double)MathHelper.sin(angle) * distance;
+    }
+}
@@ -0,0 +1,7 @@
+package familiarfauna.entities.ai;
+
+// Implemented by animals that gather into Herds
+public interface IHerdAnimal
+{
+    HerdMember getHerdMember();
+}
@@ -0,0 +1,210 @@
+package familiarfauna.entities.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Every in-love deer and turkey in a world, bucketed by species, variant and chunk. Our animals only breed with a
+// different variant of their own kind, so EntityAIFindMate looks for a partner by going through the other
+// variants' buckets for the chunks in range, instead of searching the world's entities around it.
+// Animals are added when they fall in love or join the world in love, and removed when they breed or leave the world.
+// Love can also wear off or be lost to damage without any call we can hook, so stale entries are dropped as lookups
+// come across them. An animal is filed under the chunk it was in when it last looked for a mate; as everything in love
+// looks every few ticks until it finds one, that's never far behind.
+public class MateRegistry
+{
+    private static final int CHUNK_SHIFT = 4;
+
+    private static final Map<World, MateRegistry> REGISTRIES = Maps.newIdentityHashMap();
+
+    // running totals for /familiarfauna stats
+    public static long lookups;
+    public static long candidatesChecked;
+
+    // species -> variant -> chunk -> in-love animals
+    private final Map<Class<? extends EntityAnimal>, List<Long2ObjectMap<List<EntityAnimal>>>> buckets = Maps.newHashMap();
+    private final Object2IntMap<EntityAnimal> variants = new Object2IntOpenHashMap<EntityAnimal>();
+    private final Object2LongMap<EntityAnimal> chunks = new Object2LongOpenHashMap<EntityAnimal>();
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            REGISTRIES.put(world, new MateRegistry());
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        REGISTRIES.remove(world);
+    }
+
+    // returns null for worlds without a registry (client worlds)
+    public static MateRegistry forWorld(World world)
+    {
+        return REGISTRIES.get(world);
+    }
+
+    public void add(EntityAnimal animal, int variant)
+    {
+        if (variant < 0)
+        {
+            return;
+        }
+
+        this.remove(animal);
+
+        List<Long2ObjectMap<List<EntityAnimal>>> species = this.buckets.get(animal.getClass());
+
+        if (species == null)
+        {
+            species = new ArrayList<Long2ObjectMap<List<EntityAnimal>>>();
+            this.buckets.put(animal.getClass(), species);
+        }
+
+        while (species.size() <= variant)
+        {
+            species.add(new Long2ObjectOpenHashMap<List<EntityAnimal>>());
+        }
+
+        long chunk = chunkKey(MathHelper.floor(animal.posX) >> CHUNK_SHIFT, MathHelper.floor(animal.posZ) >> CHUNK_SHIFT);
+        Long2ObjectMap<List<EntityAnimal>> variantChunks = species.get(variant);
+        List<EntityAnimal> bucket = variantChunks.get(chunk);
+
+        if (bucket == null)
+        {
+            bucket = new ArrayList<EntityAnimal>();
+            variantChunks.put(chunk, bucket);
+        }
+
+        bucket.add(animal);
+        this.variants.put(animal, variant);
+        this.chunks.put(animal, chunk);
+    }
+
+    public void remove(EntityAnimal animal)
+    {
+        if (this.variants.containsKey(animal))
+        {
+            Long2ObjectMap<List<EntityAnimal>> variantChunks = this.buckets.get(animal.getClass()).get(this.variants.removeInt(animal));
+            long chunk = this.chunks.removeLong(animal);
+            List<EntityAnimal> bucket = variantChunks.get(chunk);
+            bucket.remove(animal);
+
+            if (bucket.isEmpty())
+            {
+                variantChunks.remove(chunk);
+            }
+        }
+    }
+
+    // the closest animal within range blocks (along each axis) that animal can mate with, or null. animal has to be
+    // registered itself, as anything looking for a mate is in love.
+    public EntityAnimal findMate(EntityAnimal animal, double range)
+    {
+        ++lookups;
+
+        if (!this.variants.containsKey(animal))
+        {
+            return null;
+        }
+
+        int variant = this.variants.getInt(animal);
+        int chunkX = MathHelper.floor(animal.posX) >> CHUNK_SHIFT;
+        int chunkZ = MathHelper.floor(animal.posZ) >> CHUNK_SHIFT;
+
+        // bring our own entry up to date while we're here
+        if (this.chunks.getLong(animal) != chunkKey(chunkX, chunkZ))
+        {
+            this.add(animal, variant);
+        }
+
+        List<Long2ObjectMap<List<EntityAnimal>>> species = this.buckets.get(animal.getClass());
+        int minChunkX = MathHelper.floor(animal.posX - range) >> CHUNK_SHIFT;
+        int maxChunkX = MathHelper.floor(animal.posX + range) >> CHUNK_SHIFT;
+        int minChunkZ = MathHelper.floor(animal.posZ - range) >> CHUNK_SHIFT;
+        int maxChunkZ = MathHelper.floor(animal.posZ + range) >> CHUNK_SHIFT;
+        EntityAnimal closest = null;
+        double closestDistance = Double.MAX_VALUE;
+
+        for (int otherVariant = 0; otherVariant < species.size(); ++otherVariant)
+        {
+            Long2ObjectMap<List<EntityAnimal>> variantChunks = species.get(otherVariant);
+
+            if (otherVariant == variant || variantChunks.isEmpty())
+            {
+                continue;
+            }
+
+            for (int x = minChunkX; x <= maxChunkX; ++x)
+            {
+                for (int z = minChunkZ; z <= maxChunkZ; ++z)
+                {
+                    long chunk = chunkKey(x, z);
+                    List<EntityAnimal> bucket = variantChunks.get(chunk);
+
+                    if (bucket == null)
+                    {
+                        continue;
+                    }
+
+                    for (int i = bucket.size() - 1; i >= 0; --i)
+                    {
+                        EntityAnimal other = bucket.get(i);
+                        ++candidatesChecked;
+
+                        if (!other.isEntityAlive() || !other.isInLove() || other.world != animal.world)
+                        {
+                            bucket.remove(i);
+                            this.variants.removeInt(other);
+                            this.chunks.removeLong(other);
+                            continue;
+                        }
+
+                        if (Math.abs(other.posX - animal.posX) > range || Math.abs(other.posY - animal.posY) > range || Math.abs(other.posZ - animal.posZ) > range)
+                        {
+                            continue;
+                        }
+
+                        double distance = animal.getDistanceSq(other);
+
+                        if (distance < closestDistance && animal.canMateWith(other))
+                        {
+                            closest = other;
+                            closestDistance = distance;
+                        }
+                    }
+
+                    if (bucket.isEmpty())
+                    {
+                        variantChunks.remove(chunk);
+                    }
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    public int size()
+    {
+        return this.variants.size();
+    }
+
+    private static long chunkKey(int x, int z)
+    {
+        return (long)x << 32 | ((long)z & 0xFFFFFFFFL);
+    }
+}
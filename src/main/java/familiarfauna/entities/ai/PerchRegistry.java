@@ -0,0 +1,157 @@
+package familiarfauna.entities.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import familiarfauna.util.population.PlayerGrid;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Which blocks have an insect perched on them, so that a block change can wake the insect without it having to poll
+// One insect per block, a block that's already taken isn't offered as a perch
+// Perches are also bucketed by chunk, so that each tick the few perches around each player can be found and woken,
+// rather than every perched insect looking for players itself.
+public class PerchRegistry
+{
+    private static final int CHUNK_SHIFT = 4;
+    private static final double PLAYER_WAKE_DISTANCE = 3.0D;
+
+    private static final Map<World, PerchRegistry> REGISTRIES = Maps.newIdentityHashMap();
+
+    private final Long2ObjectMap<FlightPerch> perches = new Long2ObjectOpenHashMap<FlightPerch>();
+    private final Long2ObjectMap<List<FlightPerch>> chunks = new Long2ObjectOpenHashMap<List<FlightPerch>>();
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            REGISTRIES.put(world, new PerchRegistry());
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        REGISTRIES.remove(world);
+    }
+
+    // returns null for worlds without a registry (client worlds)
+    public static PerchRegistry forWorld(World world)
+    {
+        return REGISTRIES.get(world);
+    }
+
+    public boolean isOccupied(BlockPos pos)
+    {
+        return this.perches.containsKey(pos.toLong());
+    }
+
+    public void add(BlockPos pos, FlightPerch perch)
+    {
+        this.perches.put(pos.toLong(), perch);
+
+        long chunk = chunkKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+        List<FlightPerch> bucket = this.chunks.get(chunk);
+
+        if (bucket == null)
+        {
+            bucket = new ArrayList<FlightPerch>();
+            this.chunks.put(chunk, bucket);
+        }
+
+        bucket.add(perch);
+    }
+
+    public void remove(BlockPos pos, FlightPerch perch)
+    {
+        if (this.perches.get(pos.toLong()) == perch)
+        {
+            this.perches.remove(pos.toLong());
+
+            long chunk = chunkKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+            List<FlightPerch> bucket = this.chunks.get(chunk);
+            bucket.remove(perch);
+
+            if (bucket.isEmpty())
+            {
+                this.chunks.remove(chunk);
+            }
+        }
+    }
+
+    // called at the start of every world tick, once the player grid has been rebuilt
+    public void wakeNearPlayers(PlayerGrid players)
+    {
+        if (this.perches.isEmpty())
+        {
+            return;
+        }
+
+        List<EntityPlayer> playerList = players.getPlayers();
+
+        for (int i = 0; i < playerList.size(); ++i)
+        {
+            EntityPlayer player = playerList.get(i);
+
+            if (player.isSpectator() || player.isDead)
+            {
+                continue;
+            }
+
+            int minChunkX = MathHelper.floor(player.posX - PLAYER_WAKE_DISTANCE) >> CHUNK_SHIFT;
+            int maxChunkX = MathHelper.floor(player.posX + PLAYER_WAKE_DISTANCE) >> CHUNK_SHIFT;
+            int minChunkZ = MathHelper.floor(player.posZ - PLAYER_WAKE_DISTANCE) >> CHUNK_SHIFT;
+            int maxChunkZ = MathHelper.floor(player.posZ + PLAYER_WAKE_DISTANCE) >> CHUNK_SHIFT;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX)
+            {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ)
+                {
+                    List<FlightPerch> bucket = this.chunks.get(chunkKey(chunkX, chunkZ));
+
+                    if (bucket == null)
+                    {
+                        continue;
+                    }
+
+                    // waking takes the perch out of the bucket, so go backwards
+                    for (int j = bucket.size() - 1; j >= 0; --j)
+                    {
+                        FlightPerch perch = bucket.get(j);
+
+                        if (perch.getEntity().getDistanceSq(player) < PLAYER_WAKE_DISTANCE * PLAYER_WAKE_DISTANCE)
+                        {
+                            perch.wake();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void onBlockChanged(BlockPos pos)
+    {
+        FlightPerch perch = this.perches.get(pos.toLong());
+
+        if (perch != null)
+        {
+            perch.wake();
+        }
+    }
+
+    public int size()
+    {
+        return this.perches.size();
+    }
+
+    private static long chunkKey(int x, int z)
+    {
+        return (long)x << 32 | ((long)z & 0xFFFFFFFFL);
+    }
+}
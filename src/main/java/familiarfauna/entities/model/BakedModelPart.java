@@ -0,0 +1,103 @@
+package familiarfauna.entities.model;
+
+import net.minecraft.client.model.ModelBox;
+import net.minecraft.client.model.ModelRenderer;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// The boxes of one or more ModelRenderers compiled into a single display list. Parts that never move are baked
+// posed, with their rotation points and angles in the list, so a whole static body is one call. A moving part is
+// baked about its own rotation point and drawn with renderPosed, which applies whatever angles the model has set.
+// The list only holds geometry and UVs, so it serves every texture variant of a species.
+@SideOnly(Side.CLIENT)
+public class BakedModelPart
+{
+    private static final float RADIANS_TO_DEGREES = 180.0F / (float)Math.PI;
+
+    private final boolean posed;
+    private final ModelRenderer[] parts;
+    private int displayList;
+    private float compiledScale = -1.0F;
+
+    public BakedModelPart(boolean posed, ModelRenderer... parts)
+    {
+        this.posed = posed;
+        this.parts = parts;
+    }
+
+    public void render(float scale)
+    {
+        if (scale != this.compiledScale)
+        {
+            this.compile(scale);
+        }
+
+        GlStateManager.callList(this.displayList);
+    }
+
+    // draw at pose's rotation point, turned by its angles in the same order ModelRenderer uses
+    public void renderPosed(float scale, ModelRenderer pose)
+    {
+        GlStateManager.pushMatrix();
+        GlStateManager.translate(pose.rotationPointX * scale, pose.rotationPointY * scale, pose.rotationPointZ * scale);
+        rotate(pose);
+        this.render(scale);
+        GlStateManager.popMatrix();
+    }
+
+    private void compile(float scale)
+    {
+        if (this.displayList == 0)
+        {
+            this.displayList = GLAllocation.generateDisplayLists(1);
+        }
+
+        GlStateManager.glNewList(this.displayList, 4864);
+        BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+
+        for (ModelRenderer part : this.parts)
+        {
+            if (this.posed)
+            {
+                GlStateManager.pushMatrix();
+                GlStateManager.translate(part.rotationPointX * scale, part.rotationPointY * scale, part.rotationPointZ * scale);
+                rotate(part);
+            }
+
+            for (ModelBox box : part.cubeList)
+            {
+                box.render(buffer, scale);
+            }
+
+            if (this.posed)
+            {
+                GlStateManager.popMatrix();
+            }
+        }
+
+        GlStateManager.glEndList();
+        this.compiledScale = scale;
+    }
+
+    private static void rotate(ModelRenderer pose)
+    {
+        if (pose.rotateAngleZ != 0.0F)
+        {
+            GlStateManager.rotate(pose.rotateAngleZ * RADIANS_TO_DEGREES, 0.0F, 0.0F, 1.0F);
+        }
+
+        if (pose.rotateAngleY != 0.0F)
+        {
+            GlStateManager.rotate(pose.rotateAngleY * RADIANS_TO_DEGREES, 0.0F, 1.0F, 0.0F);
+        }
+
+        if (pose.rotateAngleX != 0.0F)
+        {
+            GlStateManager.rotate(pose.rotateAngleX * RADIANS_TO_DEGREES, 1.0F, 0.0F, 0.0F);
+        }
+    }
+}
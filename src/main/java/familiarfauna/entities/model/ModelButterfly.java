@@ -15,6 +15,10 @@ public class ModelButterfly extends ModelBase
     public ModelRenderer leftwing;
     public ModelRenderer antennae;
 
+    private final BakedModelPart bakedBody;
+    private final BakedModelPart bakedRightWing;
+    private final BakedModelPart bakedLeftWing;
+
     public ModelButterfly()
     {
         this.textureWidth = 64;
@@ -39,6 +43,11 @@ public class ModelButterfly extends ModelBase
         leftwing.addBox(0F, 0F, -4F, 6, 1, 9);
         leftwing.setRotationPoint(1F, 21.5F, 2F);
         setRotation(leftwing, 0F, 0F, 0F);
+
+        // body and antennae never move, so they're one list, the wings are posed from setRotationAngles each frame
+        this.bakedBody = new BakedModelPart(true, body, antennae);
+        this.bakedRightWing = new BakedModelPart(false, rightwing);
+        this.bakedLeftWing = new BakedModelPart(false, leftwing);
     }
 
     @Override
@@ -46,10 +55,9 @@ public class ModelButterfly extends ModelBase
     {
         super.render(entity, f, f1, f2, f3, f4, f5);
         setRotationAngles(f, f1, f2, f3, f4, f5, entity);
-        this.body.render(f5);
-        this.leftwing.render(f5);
-        this.rightwing.render(f5);
-        this.antennae.render(f5);
+        this.bakedBody.render(f5);
+        this.bakedLeftWing.renderPosed(f5, this.leftwing);
+        this.bakedRightWing.renderPosed(f5, this.rightwing);
     }
 
     private void setRotation(ModelRenderer model, float x, float y, float z)
@@ -14,6 +14,10 @@ public class ModelDragonfly extends ModelBase
     ModelRenderer rightwing;
     ModelRenderer leftwing;
     ModelRenderer head;
+
+    private final BakedModelPart bakedBody;
+    private final BakedModelPart bakedRightWing;
+    private final BakedModelPart bakedLeftWing;
   
 	public ModelDragonfly()
 	{
@@ -39,16 +43,20 @@ public class ModelDragonfly extends ModelBase
 		head.addBox(-1F, 0F, -4F, 3, 1, 1);
 		head.setRotationPoint(0F, 21F, 2F);
 		setRotation(head, 0F, 0F, 0F);
+
+		// body and head never move, so they're one list, the wings are posed from setRotationAngles each frame
+		this.bakedBody = new BakedModelPart(true, body, head);
+		this.bakedRightWing = new BakedModelPart(false, rightwing);
+		this.bakedLeftWing = new BakedModelPart(false, leftwing);
 	}
   
 	public void render(Entity entity, float f, float f1, float f2, float f3, float f4, float f5)
 	{
 		super.render(entity, f, f1, f2, f3, f4, f5);
 		setRotationAngles(f, f1, f2, f3, f4, f5, entity);
-		this.body.render(f5);
-		this.rightwing.render(f5);
-		this.leftwing.render(f5);
-		this.head.render(f5);
+		this.bakedBody.render(f5);
+		this.bakedRightWing.renderPosed(f5, this.rightwing);
+		this.bakedLeftWing.renderPosed(f5, this.leftwing);
 	}
   
 	private void setRotation(ModelRenderer model, float x, float y, float z)
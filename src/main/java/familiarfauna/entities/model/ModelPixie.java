@@ -11,6 +11,10 @@ public class ModelPixie extends ModelBase
     ModelRenderer Body;
     ModelRenderer LeftWing;
     ModelRenderer RightWing;
+
+    private final BakedModelPart bakedBody;
+    private final BakedModelPart bakedLeftWing;
+    private final BakedModelPart bakedRightWing;
   
     public ModelPixie()
     {
@@ -35,6 +39,11 @@ public class ModelPixie extends ModelBase
         RightWing.setTextureSize(64, 32);
         RightWing.mirror = true;
         setRotation(RightWing, 0F, 0F, 0F);
+
+        // the body never moves, the wings are posed from setRotationAngles each frame
+        this.bakedBody = new BakedModelPart(true, Body);
+        this.bakedLeftWing = new BakedModelPart(false, LeftWing);
+        this.bakedRightWing = new BakedModelPart(false, RightWing);
     }
     
     @Override
@@ -42,9 +51,15 @@ public class ModelPixie extends ModelBase
     {
       super.render(entity, f, f1, f2, f3, f4, f5);
       setRotationAngles(f, f1, f2, f3, f4, f5, entity);
-      Body.render(f5);
-      LeftWing.render(f5);
-      RightWing.render(f5);
+      this.renderLastPose(f5);
+    }
+    
+    // draw the parts again as render last posed them, for LayerPixieGlow
+    public void renderLastPose(float scale)
+    {
+        this.bakedBody.render(scale);
+        this.bakedLeftWing.renderPosed(scale, LeftWing);
+        this.bakedRightWing.renderPosed(scale, RightWing);
     }
     
     private void setRotation(ModelRenderer model, float x, float y, float z)
@@ -0,0 +1,178 @@
+package familiarfauna.entities.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import familiarfauna.config.ConfigurationHandler;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Far away flyers are only a few pixels big, so past the configured billboard distance their renderers queue them
+// here instead of running the model. Each is drawn as one camera facing quad from a pre-rendered sprite (one per
+// variant and wing position, stitched into the blocks atlas), all in a single draw straight after the entities
+// (see PreTranslucentPass).
+// Past the render distance they aren't drawn at all.
+@SideOnly(Side.CLIENT)
+public class FlyerBillboards
+{
+    public static final int FRAMES = 4;
+
+    // the wing speeds and body heights match the models
+    public static final Kind BUTTERFLY = new Kind(0, "butterfly", new String[] {"orange", "blue", "purple", "white", "yellow"}, 1.7F, 0.1875F, false);
+    public static final Kind DRAGONFLY = new Kind(1, "dragonfly", new String[] {"blue", "red", "green", "banded"}, 5.0F, 0.1875F, false);
+    public static final Kind PIXIE = new Kind(2, "pixie", new String[] {"pink", "blue", "purple"}, 1.7F, 0.375F, true);
+    private static final Kind[] KINDS = new Kind[] {BUTTERFLY, DRAGONFLY, PIXIE};
+
+    // a billboard is a block across, the same as the 16 pixel model canvas it was drawn from
+    private static final float HALF_SIZE = 0.5F;
+    private static final int FULL_BRIGHT = 0xF000F0;
+
+    private static final List<EntityLiving> QUEUED = new ArrayList<EntityLiving>();
+    // kind index << 8 | variant, for each queued entity
+    private static final IntArrayList QUEUED_SPRITES = new IntArrayList();
+    private static int lastCount;
+
+    public static void registerSprites(TextureMap map)
+    {
+        for (Kind kind : KINDS)
+        {
+            for (int variant = 0; variant < kind.variants.length; ++variant)
+            {
+                for (int frame = 0; frame < FRAMES; ++frame)
+                {
+                    kind.sprites[variant][frame] = map.registerSprite(new ResourceLocation("familiarfauna:billboards/" + kind.name + "_" + kind.variants[variant] + "_" + frame));
+                }
+            }
+        }
+    }
+
+    // is a flyer at (x, y, z) from the camera far enough away to be drawn as a billboard?
+    public static boolean isDistant(double x, double y, double z)
+    {
+        int distance = ConfigurationHandler.flyerBillboardDistance;
+        return distance > 0 && x * x + y * y + z * z > (double)(distance * distance);
+    }
+
+    public static boolean isCulled(EntityLiving entity, double camX, double camY, double camZ)
+    {
+        int distance = ConfigurationHandler.flyerRenderDistance;
+        return distance > 0 && entity.getDistanceSq(camX, camY, camZ) > (double)(distance * distance);
+    }
+
+    // unknown variants fall back to the first, as the renderers do
+    public static void add(Kind kind, EntityLiving entity, int variant)
+    {
+        if (variant < 0 || variant >= kind.variants.length)
+        {
+            variant = 0;
+        }
+
+        QUEUED.add(entity);
+        QUEUED_SPRITES.add(kind.index << 8 | variant);
+    }
+
+    // expects the world's fog to be on, as it is for the entities
+    public static void render(float partialTicks)
+    {
+        lastCount = QUEUED.size();
+
+        if (QUEUED.isEmpty())
+        {
+            return;
+        }
+
+        Minecraft minecraft = Minecraft.getMinecraft();
+        RenderManager renderManager = minecraft.getRenderManager();
+        float rotX = ActiveRenderInfo.getRotationX();
+        float rotZ = ActiveRenderInfo.getRotationZ();
+        float rotYZ = ActiveRenderInfo.getRotationYZ();
+        float rotXY = ActiveRenderInfo.getRotationXY();
+        float rotXZ = ActiveRenderInfo.getRotationXZ();
+
+        minecraft.entityRenderer.enableLightmap();
+        minecraft.renderEngine.bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.disableBlend();
+        GlStateManager.enableAlpha();
+        GlStateManager.depthMask(true);
+
+        Tessellator tessellator = Tessellator.getInstance();
+        BufferBuilder buffer = tessellator.getBuffer();
+        buffer.begin(7, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+
+        for (int i = 0; i < QUEUED.size(); ++i)
+        {
+            EntityLiving entity = QUEUED.get(i);
+            int key = QUEUED_SPRITES.getInt(i);
+            Kind kind = KINDS[key >> 8];
+
+            // which of the frames is nearest the wings' current spread
+            float flap = Math.abs(MathHelper.cos(((float)entity.ticksExisted + partialTicks) * kind.flapSpeed));
+            TextureAtlasSprite sprite = kind.sprites[key & 255][Math.min(FRAMES - 1, (int)(flap * (float)FRAMES))];
+            double minU = (double)sprite.getMinU();
+            double maxU = (double)sprite.getMaxU();
+            double minV = (double)sprite.getMinV();
+            double maxV = (double)sprite.getMaxV();
+
+            float x = (float)(entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * (double)partialTicks - renderManager.viewerPosX);
+            float y = (float)(entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * (double)partialTicks - renderManager.viewerPosY) + kind.centreY;
+            float z = (float)(entity.lastTickPosZ + (entity.posZ - entity.lastTickPosZ) * (double)partialTicks - renderManager.viewerPosZ);
+            int light = kind.fullBright ? FULL_BRIGHT : entity.getBrightnessForRender();
+            int skyLight = light >> 16 & 65535;
+            int blockLight = light & 65535;
+            float s = HALF_SIZE;
+
+            buffer.pos((double)(x - rotX * s - rotXY * s), (double)(y - rotZ * s), (double)(z - rotYZ * s - rotXZ * s)).tex(minU, maxV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x - rotX * s + rotXY * s), (double)(y + rotZ * s), (double)(z - rotYZ * s + rotXZ * s)).tex(minU, minV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x + rotX * s + rotXY * s), (double)(y + rotZ * s), (double)(z + rotYZ * s + rotXZ * s)).tex(maxU, minV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x + rotX * s - rotXY * s), (double)(y - rotZ * s), (double)(z + rotYZ * s - rotXZ * s)).tex(maxU, maxV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+        }
+
+        tessellator.draw();
+        minecraft.entityRenderer.disableLightmap();
+
+        QUEUED.clear();
+        QUEUED_SPRITES.clear();
+    }
+
+    public static int getLastCount()
+    {
+        return lastCount;
+    }
+
+    public static class Kind
+    {
+        private final int index;
+        private final String name;
+        private final String[] variants;
+        private final float flapSpeed;
+        // how far above the entity's feet the model's body sits
+        private final float centreY;
+        private final boolean fullBright;
+        private final TextureAtlasSprite[][] sprites;
+
+        private Kind(int index, String name, String[] variants, float flapSpeed, float centreY, boolean fullBright)
+        {
+            this.index = index;
+            this.name = name;
+            this.variants = variants;
+            this.flapSpeed = flapSpeed;
+            this.centreY = centreY;
+            this.fullBright = fullBright;
+            this.sprites = new TextureAtlasSprite[variants.length][FRAMES];
+        }
+    }
+}
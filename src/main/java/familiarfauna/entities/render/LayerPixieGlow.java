@@ -0,0 +1,48 @@
+package familiarfauna.entities.render;
+
+import familiarfauna.entities.EntityPixie;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.entity.layers.LayerRenderer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// The additive, full bright second copy of each pixie, drawn as a layer in the entity pass so it sits at the same
+// depth and under the same fog, water and weather as the pixie itself. The model is already posed and placed by the
+// time layers run, so the copy is just its baked parts called again, not a second run through doRender.
+@SideOnly(Side.CLIENT)
+public class LayerPixieGlow implements LayerRenderer<EntityPixie>
+{
+    private final RenderPixie renderer;
+
+    public LayerPixieGlow(RenderPixie renderer)
+    {
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void doRenderLayer(EntityPixie entity, float limbSwing, float limbSwingAmount, float partialTicks, float ageInTicks, float netHeadYaw, float headPitch, float scale)
+    {
+        GlStateManager.enableBlend();
+        GlStateManager.disableAlpha();
+        GlStateManager.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE);
+        GlStateManager.depthMask(true);
+        OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 61680.0F, 0.0F);
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        Minecraft.getMinecraft().entityRenderer.setupFogColor(true);
+
+        this.renderer.renderGlow(entity, scale);
+
+        Minecraft.getMinecraft().entityRenderer.setupFogColor(false);
+        this.renderer.setLightmap(entity);
+        GlStateManager.disableBlend();
+        GlStateManager.enableAlpha();
+    }
+
+    @Override
+    public boolean shouldCombineTextures()
+    {
+        return false;
+    }
+}
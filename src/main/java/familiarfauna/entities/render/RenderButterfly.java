@@ -2,6 +2,7 @@ package familiarfauna.entities.render;
 
 import familiarfauna.entities.EntityButterfly;
 import familiarfauna.entities.model.ModelButterfly;
+import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.client.renderer.entity.RenderLiving;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.util.ResourceLocation;
@@ -11,11 +12,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class RenderButterfly extends RenderLiving<EntityButterfly>
 {
-    private static final ResourceLocation ORANGE = new ResourceLocation("familiarfauna:textures/entity/butterfly/orange.png");
-    private static final ResourceLocation BLUE = new ResourceLocation("familiarfauna:textures/entity/butterfly/blue.png");
-    private static final ResourceLocation PURPLE = new ResourceLocation("familiarfauna:textures/entity/butterfly/purple.png");
-    private static final ResourceLocation WHITE = new ResourceLocation("familiarfauna:textures/entity/butterfly/white.png");
-    private static final ResourceLocation YELLOW = new ResourceLocation("familiarfauna:textures/entity/butterfly/yellow.png");
+    // orange, blue, purple, white, yellow
+    private static final VariantAtlas VARIANTS = new VariantAtlas(new ResourceLocation("familiarfauna:textures/entity/butterfly/variants.png"), 5, 8);
     
     public RenderButterfly(RenderManager renderManager)
     {
@@ -24,22 +22,36 @@ public class RenderButterfly extends RenderLiving<EntityButterfly>
     }
 
     @Override
-    protected ResourceLocation getEntityTexture(EntityButterfly entity)
+    public boolean shouldRender(EntityButterfly livingEntity, ICamera camera, double camX, double camY, double camZ)
+    {
+        return !FlyerBillboards.isCulled(livingEntity, camX, camY, camZ) && super.shouldRender(livingEntity, camera, camX, camY, camZ);
+    }
+
+    @Override
+    public void doRender(EntityButterfly entity, double x, double y, double z, float entityYaw, float partialTicks)
     {
-        switch (entity.getButterflyType())
+        if (!this.renderOutlines && FlyerBillboards.isDistant(x, y, z))
+        {
+            FlyerBillboards.add(FlyerBillboards.BUTTERFLY, entity, entity.getButterflyType());
+        }
+        else
         {
-            case 0:
-            default:
-                return ORANGE;
-            case 1:
-                return BLUE;
-            case 2:
-                return PURPLE;
-            case 3:
-                return WHITE;
-            case 4:
-                return YELLOW;
+            super.doRender(entity, x, y, z, entityYaw, partialTicks);
         }
     }
 
+    @Override
+    protected ResourceLocation getEntityTexture(EntityButterfly entity)
+    {
+        return VARIANTS.getLocation();
+    }
+
+    @Override
+    protected void renderModel(EntityButterfly entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch, float scaleFactor)
+    {
+        VARIANTS.select(entity.getButterflyType());
+        super.renderModel(entity, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch, scaleFactor);
+        VARIANTS.deselect();
+    }
+
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package familiarfauna.entities.render;
 
 import familiarfauna.entities.EntityDragonfly;
 import familiarfauna.entities.model.ModelDragonfly;
+import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.client.renderer.entity.RenderLiving;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.util.ResourceLocation;
@@ -11,10 +12,8 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class RenderDragonfly extends RenderLiving<EntityDragonfly>
 {
-    private static final ResourceLocation BLUE = new ResourceLocation("familiarfauna:textures/entity/dragonfly/blue.png");
-    private static final ResourceLocation RED = new ResourceLocation("familiarfauna:textures/entity/dragonfly/red.png");
-    private static final ResourceLocation GREEN = new ResourceLocation("familiarfauna:textures/entity/dragonfly/green.png");
-    private static final ResourceLocation BANDED = new ResourceLocation("familiarfauna:textures/entity/dragonfly/banded.png");
+    // blue, red, green, banded
+    private static final VariantAtlas VARIANTS = new VariantAtlas(new ResourceLocation("familiarfauna:textures/entity/dragonfly/variants.png"), 4, 4);
     
     public RenderDragonfly(RenderManager renderManager)
     {
@@ -23,20 +22,36 @@ public class RenderDragonfly extends RenderLiving<EntityDragonfly>
     }
 
     @Override
-    protected ResourceLocation getEntityTexture(EntityDragonfly entity)
+    public boolean shouldRender(EntityDragonfly livingEntity, ICamera camera, double camX, double camY, double camZ)
+    {
+        return !FlyerBillboards.isCulled(livingEntity, camX, camY, camZ) && super.shouldRender(livingEntity, camera, camX, camY, camZ);
+    }
+
+    @Override
+    public void doRender(EntityDragonfly entity, double x, double y, double z, float entityYaw, float partialTicks)
     {
-        switch (entity.getDragonflyType())
+        if (!this.renderOutlines && FlyerBillboards.isDistant(x, y, z))
+        {
+            FlyerBillboards.add(FlyerBillboards.DRAGONFLY, entity, entity.getDragonflyType());
+        }
+        else
         {
-            case 0:
-            default:
-                return BLUE;
-            case 1:
-                return RED;
-            case 2:
-                return GREEN;
-            case 3:
-                return BANDED;
+            super.doRender(entity, x, y, z, entityYaw, partialTicks);
         }
     }
 
+    @Override
+    protected ResourceLocation getEntityTexture(EntityDragonfly entity)
+    {
+        return VARIANTS.getLocation();
+    }
+
+    @Override
+    protected void renderModel(EntityDragonfly entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch, float scaleFactor)
+    {
+        VARIANTS.select(entity.getDragonflyType());
+        super.renderModel(entity, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch, scaleFactor);
+        VARIANTS.deselect();
+    }
+
 }
\ No newline at end of file
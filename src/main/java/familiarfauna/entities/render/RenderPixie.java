@@ -2,9 +2,7 @@ package familiarfauna.entities.render;
 
 import familiarfauna.entities.EntityPixie;
 import familiarfauna.entities.model.ModelPixie;
-import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.client.renderer.entity.RenderLiving;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.util.ResourceLocation;
@@ -14,50 +12,56 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class RenderPixie extends RenderLiving<EntityPixie>
 {
-	private static final ResourceLocation PINK = new ResourceLocation("familiarfauna:textures/entity/pixie/pink.png");
-    private static final ResourceLocation BLUE = new ResourceLocation("familiarfauna:textures/entity/pixie/blue.png");
-    private static final ResourceLocation PURPLE = new ResourceLocation("familiarfauna:textures/entity/pixie/purple.png");
+    // pink, blue, purple
+    private static final VariantAtlas VARIANTS = new VariantAtlas(new ResourceLocation("familiarfauna:textures/entity/pixie/variants.png"), 3, 4);
 
     public RenderPixie(RenderManager renderManager)
     {
         super(renderManager, new ModelPixie(), 0.25F);
         this.shadowSize = 0.0F;
+        this.addLayer(new LayerPixieGlow(this));
     }
 
     @Override
     protected ResourceLocation getEntityTexture(EntityPixie entity)
     {
-        switch (entity.getPixieType())
-        {
-            case 0:
-            default:
-                return PINK;
-            case 1:
-                return BLUE;
-            case 2:
-                return PURPLE;
-        }
+        return VARIANTS.getLocation();
+    }
+
+    @Override
+    protected void renderModel(EntityPixie entity, float limbSwing, float limbSwingAmount, float ageInTicks, float netHeadYaw, float headPitch, float scaleFactor)
+    {
+        VARIANTS.select(entity.getPixieType());
+        super.renderModel(entity, limbSwing, limbSwingAmount, ageInTicks, netHeadYaw, headPitch, scaleFactor);
+        VARIANTS.deselect();
+    }
+
+    @Override
+    public boolean shouldRender(EntityPixie livingEntity, ICamera camera, double camX, double camY, double camZ)
+    {
+        return !FlyerBillboards.isCulled(livingEntity, camX, camY, camZ) && super.shouldRender(livingEntity, camera, camX, camY, camZ);
     }
 
     @Override
     public void doRender(EntityPixie entity, double x, double y, double z, float entityYaw, float partialTicks)
     {
+        // lets FFParticleBudget thin out the trails of pixies that are out of view
+        entity.onRendered();
+
+        if (!this.renderOutlines && FlyerBillboards.isDistant(x, y, z))
+        {
+            FlyerBillboards.add(FlyerBillboards.PIXIE, entity, entity.getPixieType());
+            return;
+        }
+
     	super.doRender(entity, x, y, z, entityYaw, partialTicks);
-    	
-        GlStateManager.enableBlend();
-        GlStateManager.disableAlpha();
-        GlStateManager.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE);
-        GlStateManager.disableLighting();
-        GlStateManager.depthMask(true);
-        OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 61680.0F, 0.0F);
-        GlStateManager.enableLighting();
-        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-        Minecraft.getMinecraft().entityRenderer.setupFogColor(true);
-        super.doRender(entity, x, y, z, entityYaw, partialTicks);
-        Minecraft.getMinecraft().entityRenderer.setupFogColor(false);
-        GlStateManager.depthMask(true);
-        GlStateManager.disableBlend();
-        GlStateManager.enableAlpha();
     }
 
+    // the glowing copy, drawn by LayerPixieGlow in the pose and place the model was just drawn in
+    public void renderGlow(EntityPixie entity, float scale)
+    {
+        VARIANTS.select(entity.getPixieType());
+        ((ModelPixie)this.getMainModel()).renderLastPose(scale);
+        VARIANTS.deselect();
+    }
 }
\ No newline at end of file
@@ -28,8 +28,8 @@ public class RenderTurkey extends RenderLiving<EntityTurkey>
     
     protected float handleRotationFloat(EntityTurkey livingBase, float partialTicks)
     {
-        float f = livingBase.oFlap + (livingBase.wingRotation - livingBase.oFlap) * partialTicks;
-        float f1 = livingBase.oFlapSpeed + (livingBase.destPos - livingBase.oFlapSpeed) * partialTicks;
-        return (MathHelper.sin(f) + 1.0F) * f1;
+        EntityTurkey.WingAnimation animation = livingBase.getWingAnimation();
+        animation.update(livingBase);
+        return (MathHelper.sin(animation.getWingRotation(partialTicks)) + 1.0F) * animation.getFlapSpeed(partialTicks);
     }
 }
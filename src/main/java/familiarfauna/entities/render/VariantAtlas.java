@@ -0,0 +1,93 @@
+package familiarfauna.entities.render;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Every colour variant of a species in one texture, stacked top to bottom in type order. The model's UVs cover a
+// single variant, so while a mob is drawn the texture matrix is squashed and shifted onto the slot for its type.
+// A crowd of mixed variants then needs one texture bind per species instead of one per change of colour.
+@SideOnly(Side.CLIENT)
+public class VariantAtlas
+{
+    private final ResourceLocation location;
+    private final int variants;
+    private final float slotHeight;
+
+    // texture binds between consecutive flyers this frame, with the atlas and as it would have been with a texture per variant
+    private static VariantAtlas lastAtlas;
+    private static int lastVariant = -1;
+    private static int binds;
+    private static int variantBinds;
+    private static int lastBinds;
+    private static int lastVariantBinds;
+
+    // slots is how many variant-sized slots the texture is tall, which may be more than variants to keep it a power of two
+    public VariantAtlas(ResourceLocation location, int variants, int slots)
+    {
+        this.location = location;
+        this.variants = variants;
+        this.slotHeight = 1.0F / (float)slots;
+    }
+
+    public ResourceLocation getLocation()
+    {
+        return this.location;
+    }
+
+    // unknown types fall back to the first variant, as the old per-variant texture switches did
+    public void select(int variant)
+    {
+        if (variant < 0 || variant >= this.variants)
+        {
+            variant = 0;
+        }
+
+        if (this != lastAtlas)
+        {
+            ++binds;
+            ++variantBinds;
+        }
+        else if (variant != lastVariant)
+        {
+            ++variantBinds;
+        }
+
+        lastAtlas = this;
+        lastVariant = variant;
+
+        GlStateManager.matrixMode(5890);
+        GlStateManager.pushMatrix();
+        GlStateManager.translate(0.0F, (float)variant * this.slotHeight, 0.0F);
+        GlStateManager.scale(1.0F, this.slotHeight, 1.0F);
+        GlStateManager.matrixMode(5888);
+    }
+
+    public void deselect()
+    {
+        GlStateManager.matrixMode(5890);
+        GlStateManager.popMatrix();
+        GlStateManager.matrixMode(5888);
+    }
+
+    public static void endFrame()
+    {
+        lastBinds = binds;
+        lastVariantBinds = variantBinds;
+        binds = 0;
+        variantBinds = 0;
+        lastAtlas = null;
+        lastVariant = -1;
+    }
+
+    public static int getLastBinds()
+    {
+        return lastBinds;
+    }
+
+    public static int getLastVariantBinds()
+    {
+        return lastVariantBinds;
+    }
+}
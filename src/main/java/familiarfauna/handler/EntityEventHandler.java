@@ -0,0 +1,99 @@
+package familiarfauna.handler;
+
+import java.util.List;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityButterfly;
+import familiarfauna.entities.EntityDeer;
+import familiarfauna.entities.EntityDragonfly;
+import familiarfauna.entities.EntityPixie;
+import familiarfauna.entities.EntitySnail;
+import familiarfauna.entities.EntityTurkey;
+import familiarfauna.util.population.PopulationIndex;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+// Removes mobs whose species has been disabled in the config, once as they join a world (whether freshly spawned or
+// read back from a loaded chunk) and once across all loaded worlds whenever the config is changed in game.
+// Also counts the mobs that do join into the world's PopulationIndex.
+public class EntityEventHandler
+{
+    @SubscribeEvent
+    public void onEntityJoinWorld(EntityJoinWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+
+        // killing rather than cancelling lets the world take entities from loaded chunks out of the chunk as well
+        if (!event.getWorld().isRemote && isDisabled(entity))
+        {
+            entity.setDead();
+        }
+    }
+
+    // lowest priority so that entities another mod stops from joining are never counted
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onEntityJoinWorldCount(EntityJoinWorldEvent event)
+    {
+        PopulationIndex index = PopulationIndex.forWorld(event.getWorld());
+
+        if (index != null && !event.getEntity().isDead)
+        {
+            index.add(event.getEntity());
+        }
+    }
+
+    // called by ConfigurationHandler after the config has been reloaded
+    public static void purgeDisabledSpecies()
+    {
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+
+        // the config gui runs on the client thread, the worlds belong to the server thread
+        if (server != null)
+        {
+            server.addScheduledTask(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (WorldServer world : DimensionManager.getWorlds())
+                    {
+                        purgeDisabledSpecies(world);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void purgeDisabledSpecies(World world)
+    {
+        List<Entity> entities = world.loadedEntityList;
+
+        for (int i = 0; i < entities.size(); ++i)
+        {
+            Entity entity = entities.get(i);
+
+            if (isDisabled(entity))
+            {
+                entity.setDead();
+            }
+        }
+    }
+
+    public static boolean isDisabled(Entity entity)
+    {
+        if (entity instanceof EntityButterfly) return !ConfigurationHandler.butterflyEnable;
+        if (entity instanceof EntityDeer) return !ConfigurationHandler.deerEnable;
+        if (entity instanceof EntityDragonfly) return !ConfigurationHandler.dragonflyEnable;
+        if (entity instanceof EntityPixie) return !ConfigurationHandler.pixieEnable;
+        if (entity instanceof EntitySnail) return !ConfigurationHandler.snailEnable;
+        if (entity instanceof EntityTurkey) return !ConfigurationHandler.turkeyEnable;
+        return false;
+    }
+}
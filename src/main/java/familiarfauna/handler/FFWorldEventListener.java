@@ -0,0 +1,131 @@
+package familiarfauna.handler;
+
+import javax.annotation.Nullable;
+
+import familiarfauna.entities.EntityDeer;
+import familiarfauna.entities.EntityTurkey;
+import familiarfauna.entities.ai.FlyingInsectMoveHelper;
+import familiarfauna.entities.ai.IHerdAnimal;
+import familiarfauna.entities.ai.MateRegistry;
+import familiarfauna.entities.ai.PerchRegistry;
+import familiarfauna.util.collision.SolidVoxelCache;
+import familiarfauna.util.population.PopulationIndex;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.passive.EntityAnimal;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+// Attached to every server world by WorldEventHandler, forwards the world changes our caches care about
+public class FFWorldEventListener implements IWorldEventListener
+{
+    private final World world;
+
+    public FFWorldEventListener(World world)
+    {
+        this.world = world;
+    }
+
+    @Override
+    public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags)
+    {
+        SolidVoxelCache cache = SolidVoxelCache.forWorld(this.world);
+
+        if (cache != null)
+        {
+            cache.onBlockChanged(pos, newState);
+        }
+
+        PerchRegistry perches = PerchRegistry.forWorld(this.world);
+
+        if (perches != null)
+        {
+            perches.onBlockChanged(pos);
+        }
+    }
+
+    @Override
+    public void notifyLightSet(BlockPos pos) {}
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {}
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+
+    @Override
+    public void playRecord(SoundEvent soundIn, BlockPos pos) {}
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+
+    @Override
+    public void onEntityAdded(Entity entityIn)
+    {
+        MateRegistry mates = MateRegistry.forWorld(this.world);
+
+        // animals loaded from disk come back in love without setInLove being called
+        if (mates != null && entityIn instanceof EntityAnimal && ((EntityAnimal)entityIn).isInLove())
+        {
+            if (entityIn instanceof EntityDeer)
+            {
+                mates.add((EntityDeer)entityIn, ((EntityDeer)entityIn).getDeerType());
+            }
+            else if (entityIn instanceof EntityTurkey)
+            {
+                mates.add((EntityTurkey)entityIn, ((EntityTurkey)entityIn).getTurkeyType());
+            }
+        }
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entityIn)
+    {
+        PopulationIndex population = PopulationIndex.forWorld(this.world);
+
+        if (population != null)
+        {
+            population.remove(entityIn);
+        }
+
+        if (entityIn instanceof EntityLiving && ((EntityLiving)entityIn).getMoveHelper() instanceof FlyingInsectMoveHelper)
+        {
+            FlyingInsectMoveHelper moveHelper = (FlyingInsectMoveHelper)((EntityLiving)entityIn).getMoveHelper();
+            moveHelper.getLod().onRemoved();
+
+            if (moveHelper.getPerch() != null)
+            {
+                moveHelper.getPerch().onRemoved();
+            }
+        }
+
+        if (entityIn instanceof IHerdAnimal)
+        {
+            ((IHerdAnimal)entityIn).getHerdMember().leaveHerd();
+        }
+
+        MateRegistry mates = MateRegistry.forWorld(this.world);
+
+        if (mates != null && entityIn instanceof EntityAnimal)
+        {
+            mates.remove((EntityAnimal)entityIn);
+        }
+    }
+
+    @Override
+    public void broadcastSound(int soundID, BlockPos pos, int data) {}
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {}
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+}
@@ -0,0 +1,21 @@
+package familiarfauna.handler;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.network.FFPacketHandler;
+import familiarfauna.network.message.MessageAmbientInsects;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+
+public class PlayerEventHandler
+{
+    // clients only fly their own butterflies and dragonflies on servers that have asked them to
+    @SubscribeEvent
+    public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            FFPacketHandler.instance.sendTo(new MessageAmbientInsects(ConfigurationHandler.ambientInsects), (EntityPlayerMP)event.player);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package familiarfauna.handler;
+
+import familiarfauna.entities.ai.FlightLod;
+import familiarfauna.entities.ai.MateRegistry;
+import familiarfauna.entities.ai.PerchRegistry;
+import familiarfauna.util.collision.SolidVoxelCache;
+import familiarfauna.util.population.CrowdGrid;
+import familiarfauna.util.population.PlayerGrid;
+import familiarfauna.util.population.PopulationIndex;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.terraingen.PopulateChunkEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+public class WorldEventHandler
+{
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event)
+    {
+        World world = event.getWorld();
+
+        if (!world.isRemote)
+        {
+            SolidVoxelCache.onWorldLoad(world);
+            PerchRegistry.onWorldLoad(world);
+            PopulationIndex.onWorldLoad(world);
+            PlayerGrid.onWorldLoad(world);
+            MateRegistry.onWorldLoad(world);
+            CrowdGrid.onWorldLoad(world);
+            world.addEventListener(new FFWorldEventListener(world));
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        SolidVoxelCache.onWorldUnload(event.getWorld());
+        FlightLod.onWorldUnload(event.getWorld());
+        PerchRegistry.onWorldUnload(event.getWorld());
+        PopulationIndex.onWorldUnload(event.getWorld());
+        PlayerGrid.onWorldUnload(event.getWorld());
+        MateRegistry.onWorldUnload(event.getWorld());
+        CrowdGrid.onWorldUnload(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.START)
+        {
+            PlayerGrid players = PlayerGrid.forWorld(event.world);
+
+            if (players != null)
+            {
+                players.rebuild(event.world);
+
+                PerchRegistry perches = PerchRegistry.forWorld(event.world);
+
+                if (perches != null)
+                {
+                    perches.wakeNearPlayers(players);
+                }
+            }
+
+            CrowdGrid crowd = CrowdGrid.forWorld(event.world);
+
+            if (crowd != null)
+            {
+                crowd.rebuild(event.world);
+            }
+        }
+        else
+        {
+            PopulationIndex population = PopulationIndex.forWorld(event.world);
+
+            if (population != null)
+            {
+                population.update(event.world);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event)
+    {
+        // anything we remember about a chunk from before it was last unloaded is stale
+        invalidateChunk(event.getWorld(), event.getChunk().x, event.getChunk().z);
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event)
+    {
+        Chunk chunk = event.getChunk();
+        invalidateChunk(event.getWorld(), chunk.x, chunk.z);
+    }
+
+    @SubscribeEvent
+    public void onPopulateChunk(PopulateChunkEvent.Post event)
+    {
+        // block changes during population don't reach world listeners, and decoration spills into the neighbouring chunks
+        for (int x = 0; x <= 1; ++x)
+        {
+            for (int z = 0; z <= 1; ++z)
+            {
+                invalidateChunk(event.getWorld(), event.getChunkX() + x, event.getChunkZ() + z);
+            }
+        }
+    }
+
+    private static void invalidateChunk(World world, int chunkX, int chunkZ)
+    {
+        SolidVoxelCache cache = SolidVoxelCache.forWorld(world);
+
+        if (cache != null)
+        {
+            cache.invalidateChunk(chunkX, chunkZ);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package familiarfauna.init;
+
+import familiarfauna.client.handler.ClientEventHandler;
+import familiarfauna.handler.EntityEventHandler;
+import familiarfauna.handler.PlayerEventHandler;
+import familiarfauna.handler.WorldEventHandler;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.relauncher.Side;
+
+public class ModHandlers
+{
+    public static void init()
+    {
+        MinecraftForge.EVENT_BUS.register(new WorldEventHandler());
+        MinecraftForge.EVENT_BUS.register(new EntityEventHandler());
+        MinecraftForge.EVENT_BUS.register(new PlayerEventHandler());
+        
+        if (FMLCommonHandler.instance().getSide() == Side.CLIENT)
+        {
+            MinecraftForge.EVENT_BUS.register(new ClientEventHandler());
+        }
+    }
+}
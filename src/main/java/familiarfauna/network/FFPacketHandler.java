@@ -0,0 +1,19 @@
+package familiarfauna.network;
+
+import familiarfauna.core.FamiliarFauna;
+import familiarfauna.network.message.MessageAmbientInsects;
+import familiarfauna.network.message.MessageCatchAmbientInsect;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import net.minecraftforge.fml.relauncher.Side;
+
+public class FFPacketHandler
+{
+    public static final SimpleNetworkWrapper instance = NetworkRegistry.INSTANCE.newSimpleChannel(FamiliarFauna.MOD_ID);
+
+    public static void init()
+    {
+        instance.registerMessage(MessageAmbientInsects.class, MessageAmbientInsects.class, 0, Side.CLIENT);
+        instance.registerMessage(MessageCatchAmbientInsect.class, MessageCatchAmbientInsect.class, 1, Side.SERVER);
+    }
+}
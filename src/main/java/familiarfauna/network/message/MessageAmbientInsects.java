@@ -0,0 +1,39 @@
+package familiarfauna.network.message;
+
+import familiarfauna.core.FamiliarFauna;
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+// Sent to each player as they log in, telling their client whether it should fly its own butterflies and dragonflies
+public class MessageAmbientInsects implements IMessage, IMessageHandler<MessageAmbientInsects, IMessage>
+{
+    public boolean enabled;
+
+    public MessageAmbientInsects() {}
+
+    public MessageAmbientInsects(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.enabled = buf.readBoolean();
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeBoolean(this.enabled);
+    }
+
+    @Override
+    public IMessage onMessage(MessageAmbientInsects message, MessageContext ctx)
+    {
+        FamiliarFauna.proxy.setAmbientInsects(message.enabled);
+        return null;
+    }
+}
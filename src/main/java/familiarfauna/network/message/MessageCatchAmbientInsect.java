@@ -0,0 +1,195 @@
+package familiarfauna.network.message;
+
+import java.util.List;
+
+import familiarfauna.api.FFItems;
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityButterfly;
+import familiarfauna.init.ModConfiguration;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+// Sent by a client when its player nets one of the butterflies or dragonflies it flies by itself. The server never
+// saw that insect, so it can only check the catch was plausible (the right net and an empty habitat, close enough to
+// the player and in front of where they're looking, in a biome the species lives in) before filling the habitat as a
+// real catch would. As nothing proves an insect was there, a client is held to one catch per swing of the net (the
+// net's use cooldown) and to ambientCatchLimit catches a minute.
+public class MessageCatchAmbientInsect implements IMessage, IMessageHandler<MessageCatchAmbientInsect, IMessage>
+{
+    // a little over survival reach, as the insect kept moving while the packet was on its way
+    private static final double MAX_CATCH_DISTANCE = 6.0D;
+    // the insect has to be within about 60 degrees of the player's look
+    private static final double MIN_LOOK_DOT = 0.5D;
+    private static final int NET_COOLDOWN = 10;
+    private static final long CATCH_LIMIT_WINDOW = 1200L;
+    private static final String CATCH_WINDOW_TAG = "FFAmbientCatchWindow";
+    private static final String CATCH_COUNT_TAG = "FFAmbientCatches";
+
+    public String bug;
+    public int type;
+    public double x;
+    public double y;
+    public double z;
+    public EnumHand hand;
+
+    public MessageCatchAmbientInsect() {}
+
+    public MessageCatchAmbientInsect(String bug, int type, double x, double y, double z, EnumHand hand)
+    {
+        this.bug = bug;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.hand = hand;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.bug = ByteBufUtils.readUTF8String(buf);
+        this.type = buf.readByte();
+        this.x = buf.readDouble();
+        this.y = buf.readDouble();
+        this.z = buf.readDouble();
+        this.hand = buf.readBoolean() ? EnumHand.OFF_HAND : EnumHand.MAIN_HAND;
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        ByteBufUtils.writeUTF8String(buf, this.bug);
+        buf.writeByte(this.type);
+        buf.writeDouble(this.x);
+        buf.writeDouble(this.y);
+        buf.writeDouble(this.z);
+        buf.writeBoolean(this.hand == EnumHand.OFF_HAND);
+    }
+
+    @Override
+    public IMessage onMessage(final MessageCatchAmbientInsect message, MessageContext ctx)
+    {
+        final EntityPlayerMP player = ctx.getServerHandler().player;
+
+        player.getServerWorld().addScheduledTask(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                message.catchInsect(player);
+            }
+        });
+
+        return null;
+    }
+
+    private void catchInsect(EntityPlayerMP player)
+    {
+        if (!ConfigurationHandler.ambientInsects || player.capabilities.isCreativeMode)
+        {
+            return;
+        }
+
+        List<String> biomes;
+        int types;
+
+        if ("butterfly".equals(this.bug) && ConfigurationHandler.butterflyEnable)
+        {
+            biomes = ModConfiguration.butterflyBiomeList;
+            types = 5;
+        }
+        else if ("dragonfly".equals(this.bug) && ConfigurationHandler.dragonflyEnable)
+        {
+            biomes = ModConfiguration.dragonflyBiomeList;
+            types = 4;
+        }
+        else
+        {
+            return;
+        }
+
+        if (this.type < 0 || this.type >= types)
+        {
+            return;
+        }
+
+        ItemStack net = player.getHeldItem(this.hand);
+        BlockPos pos = new BlockPos(this.x, this.y, this.z);
+
+        if (net.getItem() != FFItems.bug_net || player.getCooldownTracker().hasCooldown(FFItems.bug_net))
+        {
+            return;
+        }
+
+        if (player.getDistanceSq(this.x, this.y, this.z) > MAX_CATCH_DISTANCE * MAX_CATCH_DISTANCE || !this.isInFrontOf(player) || !player.world.isBlockLoaded(pos))
+        {
+            return;
+        }
+
+        if (!biomes.contains(player.world.getBiome(pos).getRegistryName().toString()))
+        {
+            return;
+        }
+
+        ItemStack emptyHabitat = EntityButterfly.findEmptyHabitatStack(player);
+
+        if (emptyHabitat.isEmpty() || !this.countCatch(player))
+        {
+            return;
+        }
+
+        player.getCooldownTracker().setCooldown(FFItems.bug_net, NET_COOLDOWN);
+        emptyHabitat.shrink(1);
+        net.damageItem(1, player);
+
+        ItemStack habitat = new ItemStack(FFItems.bug_habitat);
+        habitat.setTagCompound(new NBTTagCompound());
+        habitat.getTagCompound().setString("Bug", this.bug);
+        habitat.getTagCompound().setInteger("Type", this.type);
+
+        if (!player.inventory.addItemStackToInventory(habitat))
+        {
+            player.dropItem(habitat, false);
+        }
+    }
+
+    private boolean isInFrontOf(EntityPlayerMP player)
+    {
+        Vec3d eyes = new Vec3d(player.posX, player.posY + (double)player.getEyeHeight(), player.posZ);
+        Vec3d toInsect = new Vec3d(this.x - eyes.x, this.y - eyes.y, this.z - eyes.z).normalize();
+        return toInsect.dotProduct(player.getLookVec()) >= MIN_LOOK_DOT;
+    }
+
+    // false once the player has made ambientCatchLimit catches within the last minute or so, otherwise counts this one.
+    // Kept in the player's entity data, so there's no table of players of our own to clean up.
+    private boolean countCatch(EntityPlayerMP player)
+    {
+        NBTTagCompound data = player.getEntityData();
+        long time = player.world.getTotalWorldTime();
+
+        if (time - data.getLong(CATCH_WINDOW_TAG) >= CATCH_LIMIT_WINDOW || time < data.getLong(CATCH_WINDOW_TAG))
+        {
+            data.setLong(CATCH_WINDOW_TAG, time);
+            data.setInteger(CATCH_COUNT_TAG, 0);
+        }
+
+        int catches = data.getInteger(CATCH_COUNT_TAG);
+
+        if (catches >= ConfigurationHandler.ambientCatchLimit)
+        {
+            return false;
+        }
+
+        data.setInteger(CATCH_COUNT_TAG, catches + 1);
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package familiarfauna.particle;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityPixie;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Decides whether each of our particles is actually worth spawning. There's a hard limit on how many can be alive at
+// once and on how many can be spawned per tick, and beyond that a source emits less the further it is from the camera
+// and the longer it has gone without being rendered (i.e. has been outside the view frustum).
+@SideOnly(Side.CLIENT)
+public class FFParticleBudget
+{
+    private static final int MAX_SPAWNS_PER_TICK = 32;
+    // full rate up to FADE_START_DISTANCE from the camera, falling off to nothing at FADE_END_DISTANCE
+    private static final double FADE_START_DISTANCE = 16.0D;
+    private static final double FADE_END_DISTANCE = 64.0D;
+    // a source that hasn't been rendered for this many ticks stops emitting altogether
+    private static final int UNSEEN_CUTOFF_TICKS = 40;
+
+    private static int live;
+    private static long dropped;
+    private static int spawnedThisTick;
+    private static World lastWorld;
+
+    // returns true if a particle from source (may be null) at (x, y, z) should be spawned, and counts it as live if so
+    public static boolean tryEmit(World world, double x, double y, double z, Object source)
+    {
+        // FFTrailParticles throws away every particle when the world changes
+        if (world != lastWorld)
+        {
+            lastWorld = world;
+            live = 0;
+        }
+
+        Entity camera = Minecraft.getMinecraft().getRenderViewEntity();
+
+        if (camera == null || live >= ConfigurationHandler.particleLimit || spawnedThisTick >= MAX_SPAWNS_PER_TICK)
+        {
+            ++dropped;
+            return false;
+        }
+
+        float chance = 1.0F;
+        double distance = Math.sqrt(camera.getDistanceSq(x, y, z));
+
+        if (distance > FADE_START_DISTANCE)
+        {
+            chance *= (float)(1.0D - (distance - FADE_START_DISTANCE) / (FADE_END_DISTANCE - FADE_START_DISTANCE));
+        }
+
+        if (source instanceof EntityPixie)
+        {
+            // a pixie on screen was rendered last frame, which is at most a tick ago
+            int unseen = ((EntityPixie)source).getTicksSinceRendered();
+
+            if (unseen > 1)
+            {
+                chance *= 1.0F - (float)unseen / (float)UNSEEN_CUTOFF_TICKS;
+            }
+        }
+
+        if (chance < 1.0F && (chance <= 0.0F || world.rand.nextFloat() >= chance))
+        {
+            ++dropped;
+            return false;
+        }
+
+        ++live;
+        ++spawnedThisTick;
+        return true;
+    }
+
+    // called by our particles when they expire
+    public static void onParticleExpired()
+    {
+        if (live > 0)
+        {
+            --live;
+        }
+    }
+
+    public static void onClientTick()
+    {
+        spawnedThisTick = 0;
+    }
+
+    public static int getLive()
+    {
+        return live;
+    }
+
+    public static long getDropped()
+    {
+        return dropped;
+    }
+}
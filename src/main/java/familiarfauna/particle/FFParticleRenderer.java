@@ -0,0 +1,77 @@
+package familiarfauna.particle;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Our own particle pass, run by PreTranslucentPass where the effect renderer draws its particles: after the entities,
+// with fog, before weather and translucent blocks. All of FFTrailParticles goes into one buffer, drawn with
+// a single bind of the blocks atlas (where FFParticleSprites lives) and the additive blend set up once, rather than each
+// particle rebinding a texture and toggling depth mask and blending around its own quad inside the effect renderer's pass.
+// The trails stay out of the effect renderer's atlas layer because that layer is drawn with ordinary alpha blending.
+@SideOnly(Side.CLIENT)
+public class FFParticleRenderer
+{
+    // texture bind, depth mask off and on, blend on and off, blend func - what each particle used to do for itself
+    private static final int STATE_CHANGES_PER_PARTICLE = 6;
+
+    private static int lastQuads;
+
+    public static void renderParticles(float partialTicks)
+    {
+        lastQuads = 0;
+        Minecraft minecraft = Minecraft.getMinecraft();
+        int particles = FFTrailParticles.getCount(minecraft.world);
+
+        if (particles == 0)
+        {
+            return;
+        }
+
+        // the same camera facing vectors the effect renderer hands to its particles, Particle.interpPosX/Y/Z are also set
+        // by its lit particle pass this frame (it sets them every frame, whether or not it has particles of its own)
+        float rotX = ActiveRenderInfo.getRotationX();
+        float rotZ = ActiveRenderInfo.getRotationZ();
+        float rotYZ = ActiveRenderInfo.getRotationYZ();
+        float rotXY = ActiveRenderInfo.getRotationXY();
+        float rotXZ = ActiveRenderInfo.getRotationXZ();
+
+        minecraft.entityRenderer.enableLightmap();
+        minecraft.renderEngine.bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
+        GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+        GlStateManager.depthMask(false);
+        GlStateManager.enableBlend();
+        GlStateManager.blendFunc(770, 1);
+        GlStateManager.alphaFunc(516, 0.003921569F);
+
+        Tessellator tessellator = Tessellator.getInstance();
+        BufferBuilder buffer = tessellator.getBuffer();
+        buffer.begin(7, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+
+        FFTrailParticles.render(buffer, partialTicks, rotX, rotXZ, rotZ, rotYZ, rotXY);
+        tessellator.draw();
+        lastQuads = particles;
+
+        GlStateManager.alphaFunc(516, 0.1F);
+        GlStateManager.disableBlend();
+        GlStateManager.depthMask(true);
+        minecraft.entityRenderer.disableLightmap();
+    }
+
+    public static int getLastQuads()
+    {
+        return lastQuads;
+    }
+
+    // GL state changes the batched pass avoided last frame
+    public static int getLastStateChangesSaved()
+    {
+        return Math.max(0, lastQuads * STATE_CHANGES_PER_PARTICLE - STATE_CHANGES_PER_PARTICLE);
+    }
+}
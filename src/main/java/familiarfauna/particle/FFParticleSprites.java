@@ -0,0 +1,36 @@
+package familiarfauna.particle;
+
+import familiarfauna.core.FamiliarFauna;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Our particle frames, stitched into the blocks texture atlas. The sprites are filled in with their atlas UVs when
+// the atlas is stitched, so the particles only ever have to pick one.
+@SideOnly(Side.CLIENT)
+public class FFParticleSprites
+{
+    public static final int TRAIL_FRAMES = 8;
+    // indexed by trail texture row
+    private static final String[] TRAIL_COLOURS = new String[] {"pink", "blue", "purple"};
+
+    private static final TextureAtlasSprite[][] TRAIL_SPRITES = new TextureAtlasSprite[TRAIL_COLOURS.length][TRAIL_FRAMES];
+
+    public static void registerSprites(TextureMap map)
+    {
+        for (int row = 0; row < TRAIL_COLOURS.length; ++row)
+        {
+            for (int frame = 0; frame < TRAIL_FRAMES; ++frame)
+            {
+                TRAIL_SPRITES[row][frame] = map.registerSprite(new ResourceLocation(FamiliarFauna.MOD_ID, "particles/pixie_trail_" + TRAIL_COLOURS[row] + "_" + frame));
+            }
+        }
+    }
+
+    public static TextureAtlasSprite getTrailSprite(int row, int frame)
+    {
+        return TRAIL_SPRITES[row][frame];
+    }
+}
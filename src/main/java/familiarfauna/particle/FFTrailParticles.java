@@ -0,0 +1,229 @@
+package familiarfauna.particle;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+// Every live pixie trail particle, kept as parallel arrays rather than one Particle object each. The whole lot is
+// advanced in a single loop once per client tick and drawn by FFParticleRenderer. Trail particles never collide, so
+// all a tick has to do is step position, damp motion, age and pick the frame - none of Particle.move's box shuffling
+// or ground checks. Dead particles are swapped with the last live one, so the arrays stay packed.
+@SideOnly(Side.CLIENT)
+public class FFTrailParticles
+{
+    private static final int INITIAL_CAPACITY = 256;
+    private static final double DRAG = 0.9599999785423279D;
+    private static final Random RAND = new Random();
+    private static final BlockPos.MutableBlockPos POS = new BlockPos.MutableBlockPos();
+
+    private static World world;
+    private static int count;
+
+    private static double[] posX = new double[INITIAL_CAPACITY];
+    private static double[] posY = new double[INITIAL_CAPACITY];
+    private static double[] posZ = new double[INITIAL_CAPACITY];
+    private static double[] prevPosX = new double[INITIAL_CAPACITY];
+    private static double[] prevPosY = new double[INITIAL_CAPACITY];
+    private static double[] prevPosZ = new double[INITIAL_CAPACITY];
+    private static double[] motionX = new double[INITIAL_CAPACITY];
+    private static double[] motionY = new double[INITIAL_CAPACITY];
+    private static double[] motionZ = new double[INITIAL_CAPACITY];
+    private static int[] age = new int[INITIAL_CAPACITY];
+    private static int[] maxAge = new int[INITIAL_CAPACITY];
+    private static float[] scale = new float[INITIAL_CAPACITY];
+    // the trail colour (sprite row) and current frame
+    private static byte[] row = new byte[INITIAL_CAPACITY];
+    private static byte[] frame = new byte[INITIAL_CAPACITY];
+    // lightmap coordinates, looked up once per tick rather than once per frame
+    private static int[] light = new int[INITIAL_CAPACITY];
+
+    // how long a tick of the simulation takes, smoothed, for the debug screen
+    private static long tickNanos;
+
+    // trailRow picks the pixie trail frames, 0 pink, 1 blue, 2 purple
+    public static void spawn(World spawnWorld, double x, double y, double z, double motionXIn, double motionYIn, double motionZIn, int trailRow)
+    {
+        if (spawnWorld != world)
+        {
+            clear(spawnWorld);
+        }
+
+        if (count == posX.length)
+        {
+            grow();
+        }
+
+        int i = count++;
+        posX[i] = prevPosX[i] = x;
+        posY[i] = prevPosY[i] = y;
+        posZ[i] = prevPosZ[i] = z;
+
+        // the random drift the Particle constructor gives a particle with no speed of its own, cut down to a tenth as the trail always was
+        double mx = (Math.random() * 2.0D - 1.0D) * 0.4000000059604645D;
+        double my = (Math.random() * 2.0D - 1.0D) * 0.4000000059604645D;
+        double mz = (Math.random() * 2.0D - 1.0D) * 0.4000000059604645D;
+        float f = (float)(Math.random() + Math.random() + 1.0D) * 0.15F;
+        float f1 = MathHelper.sqrt(mx * mx + my * my + mz * mz);
+        motionX[i] = (mx / (double)f1 * (double)f * 0.4000000059604645D) * 0.10000000149011612D + motionXIn;
+        motionY[i] = (my / (double)f1 * (double)f * 0.4000000059604645D + 0.10000000149011612D) * 0.10000000149011612D + motionYIn;
+        motionZ[i] = (mz / (double)f1 * (double)f * 0.4000000059604645D) * 0.10000000149011612D + motionZIn;
+
+        age[i] = spawnWorld.rand.nextInt(3);
+        maxAge[i] = (int)((8.0D / (Math.random() * 0.8D + 0.2D)) * 8);
+        scale[i] = (RAND.nextFloat() * 0.5F + 0.5F) * 2.0F * 0.75F;
+        row[i] = (byte)trailRow;
+        frame[i] = (byte)(FFParticleSprites.TRAIL_FRAMES - 1);
+        light[i] = getLight(spawnWorld, x, y, z);
+    }
+
+    public static void tick()
+    {
+        World currentWorld = Minecraft.getMinecraft().world;
+
+        if (currentWorld != world)
+        {
+            clear(currentWorld);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int i = 0;
+
+        while (i < count)
+        {
+            if (age[i]++ >= maxAge[i])
+            {
+                FFParticleBudget.onParticleExpired();
+                remove(i);
+                // the last particle now sits at i and still needs its tick
+                continue;
+            }
+
+            prevPosX[i] = posX[i];
+            prevPosY[i] = posY[i];
+            prevPosZ[i] = posZ[i];
+            posX[i] += motionX[i];
+            posY[i] += motionY[i];
+            posZ[i] += motionZ[i];
+            motionX[i] *= DRAG;
+            motionY[i] *= DRAG;
+            motionZ[i] *= DRAG;
+
+            int f = FFParticleSprites.TRAIL_FRAMES - 1 - age[i] * FFParticleSprites.TRAIL_FRAMES / maxAge[i];
+            frame[i] = (byte)MathHelper.clamp(f, 0, FFParticleSprites.TRAIL_FRAMES - 1);
+            light[i] = getLight(world, posX[i], posY[i], posZ[i]);
+            ++i;
+        }
+
+        tickNanos = (tickNanos * 15L + (System.nanoTime() - start)) / 16L;
+    }
+
+    // add a camera facing quad per particle to buffer, laid out the same way as Particle.renderParticle
+    public static void render(BufferBuilder buffer, float partialTicks, float rotX, float rotXZ, float rotZ, float rotYZ, float rotXY)
+    {
+        for (int i = 0; i < count; ++i)
+        {
+            TextureAtlasSprite sprite = FFParticleSprites.getTrailSprite(row[i], frame[i]);
+            double minU = (double)sprite.getMinU();
+            double maxU = (double)sprite.getMaxU();
+            double minV = (double)sprite.getMinV();
+            double maxV = (double)sprite.getMaxV();
+
+            // trails swell to full size over the first 32nd of their life
+            float size = 0.1F * scale[i] * MathHelper.clamp(((float)age[i] + partialTicks) / (float)maxAge[i] * 32.0F, 0.0F, 1.0F);
+            float x = (float)(prevPosX[i] + (posX[i] - prevPosX[i]) * (double)partialTicks - Particle.interpPosX);
+            float y = (float)(prevPosY[i] + (posY[i] - prevPosY[i]) * (double)partialTicks - Particle.interpPosY);
+            float z = (float)(prevPosZ[i] + (posZ[i] - prevPosZ[i]) * (double)partialTicks - Particle.interpPosZ);
+            int skyLight = light[i] >> 16 & 65535;
+            int blockLight = light[i] & 65535;
+
+            buffer.pos((double)(x - rotX * size - rotXY * size), (double)(y - rotZ * size), (double)(z - rotYZ * size - rotXZ * size)).tex(maxU, maxV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x - rotX * size + rotXY * size), (double)(y + rotZ * size), (double)(z - rotYZ * size + rotXZ * size)).tex(maxU, minV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x + rotX * size + rotXY * size), (double)(y + rotZ * size), (double)(z + rotYZ * size + rotXZ * size)).tex(minU, minV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+            buffer.pos((double)(x + rotX * size - rotXY * size), (double)(y - rotZ * size), (double)(z + rotYZ * size - rotXZ * size)).tex(minU, maxV).color(1.0F, 1.0F, 1.0F, 1.0F).lightmap(skyLight, blockLight).endVertex();
+        }
+    }
+
+    // the trail particles alive in currentWorld, 0 until one has been spawned there
+    public static int getCount(World currentWorld)
+    {
+        return currentWorld == world ? count : 0;
+    }
+
+    public static int getCapacity()
+    {
+        return posX.length;
+    }
+
+    public static long getTickMicros()
+    {
+        return tickNanos / 1000L;
+    }
+
+    // trails glow, so their block light is always full and only sky light comes from the world
+    private static int getLight(World lightWorld, double x, double y, double z)
+    {
+        POS.setPos(x, y, z);
+        int skyLight = lightWorld.isBlockLoaded(POS) ? lightWorld.getCombinedLight(POS, 0) >> 16 & 255 : 0;
+        return skyLight << 16 | 240;
+    }
+
+    private static void remove(int i)
+    {
+        int last = --count;
+
+        if (i != last)
+        {
+            posX[i] = posX[last];
+            posY[i] = posY[last];
+            posZ[i] = posZ[last];
+            prevPosX[i] = prevPosX[last];
+            prevPosY[i] = prevPosY[last];
+            prevPosZ[i] = prevPosZ[last];
+            motionX[i] = motionX[last];
+            motionY[i] = motionY[last];
+            motionZ[i] = motionZ[last];
+            age[i] = age[last];
+            maxAge[i] = maxAge[last];
+            scale[i] = scale[last];
+            row[i] = row[last];
+            frame[i] = frame[last];
+            light[i] = light[last];
+        }
+    }
+
+    private static void clear(World newWorld)
+    {
+        world = newWorld;
+        count = 0;
+    }
+
+    private static void grow()
+    {
+        int capacity = posX.length * 2;
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        posZ = Arrays.copyOf(posZ, capacity);
+        prevPosX = Arrays.copyOf(prevPosX, capacity);
+        prevPosY = Arrays.copyOf(prevPosY, capacity);
+        prevPosZ = Arrays.copyOf(prevPosZ, capacity);
+        motionX = Arrays.copyOf(motionX, capacity);
+        motionY = Arrays.copyOf(motionY, capacity);
+        motionZ = Arrays.copyOf(motionZ, capacity);
+        age = Arrays.copyOf(age, capacity);
+        maxAge = Arrays.copyOf(maxAge, capacity);
+        scale = Arrays.copyOf(scale, capacity);
+        row = Arrays.copyOf(row, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        light = Arrays.copyOf(light, capacity);
+    }
+}
@@ -0,0 +1,88 @@
+package familiarfauna.util.collision;
+
+// A copy of the SolidVoxelCache bits for a 16x16x16 block region, taken once so that a batch of sweeps can be
+// answered from two flat arrays instead of going back to the cache (or the world) for every cell.
+// The copy is made a row of 16 blocks at a time, so capturing costs 256 row reads per section the region overlaps.
+public class CollisionSnapshot
+{
+    public static final int SIZE = 16;
+    // returned for cells outside the captured region, callers should ask the cache or world instead
+    public static final int OUTSIDE = -1;
+
+    private final long[] solid = new long[64];
+    private final long[] full = new long[64];
+
+    private int originX;
+    private int originY;
+    private int originZ;
+
+    // capture the region whose lowest corner is (originX, originY, originZ), returns the number of rows read from the cache
+    public int capture(SolidVoxelCache cache, int originX, int originY, int originZ)
+    {
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+
+        int shift = originX & 15;
+        int sectionX = originX >> 4;
+        int rows = 0;
+
+        // the region's x rows start part way through one section and (unless aligned) finish in the next
+        // fetching all rows from one column of sections before moving to the next keeps most reads on the cache's last-section fast path
+        for (int y = 0; y < SIZE; ++y)
+        {
+            for (int z = 0; z < SIZE; ++z)
+            {
+                int row = cache.getRow(sectionX, originY + y, originZ + z);
+                this.setRow(y, z, (row & 0xFFFF) >>> shift, (row >>> 16) >>> shift);
+                ++rows;
+            }
+        }
+
+        if (shift != 0)
+        {
+            for (int y = 0; y < SIZE; ++y)
+            {
+                for (int z = 0; z < SIZE; ++z)
+                {
+                    int row = cache.getRow(sectionX + 1, originY + y, originZ + z);
+                    int index = y << 8 | z << 4;
+                    this.solid[index >>> 6] |= (long)((row << (16 - shift)) & 0xFFFF) << (index & 63);
+                    this.full[index >>> 6] |= (long)(((row >>> 16) << (16 - shift)) & 0xFFFF) << (index & 63);
+                    ++rows;
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    public int getVoxel(int x, int y, int z)
+    {
+        x -= this.originX;
+        y -= this.originY;
+        z -= this.originZ;
+
+        if (((x | y | z) & ~(SIZE - 1)) != 0)
+        {
+            return OUTSIDE;
+        }
+
+        int index = y << 8 | z << 4 | x;
+
+        if ((this.solid[index >>> 6] & (1L << index)) == 0L)
+        {
+            return SolidVoxelCache.EMPTY;
+        }
+
+        return (this.full[index >>> 6] & (1L << index)) != 0L ? SolidVoxelCache.FULL : SolidVoxelCache.PARTIAL;
+    }
+
+    private void setRow(int y, int z, int solidRow, int fullRow)
+    {
+        int index = y << 8 | z << 4;
+        long mask = 0xFFFFL << (index & 63);
+        this.solid[index >>> 6] = (this.solid[index >>> 6] & ~mask) | ((long)solidRow << (index & 63));
+        this.full[index >>> 6] = (this.full[index >>> 6] & ~mask) | ((long)fullRow << (index & 63));
+    }
+}
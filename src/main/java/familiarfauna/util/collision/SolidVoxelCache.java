@@ -0,0 +1,267 @@
+package familiarfauna.util.collision;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+// One bit per block telling whether it has a collision shape (and a second bit for whether that shape is a full cube),
+// stored per 16x16x16 chunk section. Sections are built the first time a flying mob asks about them and are kept
+// up to date by WorldEventHandler/FFWorldEventListener through block changes, population and chunk unloads.
+public class SolidVoxelCache
+{
+    public static final int EMPTY = 0;
+    public static final int PARTIAL = 1;
+    public static final int FULL = 2;
+
+    // block changes made without notifying world listeners (flags without 2) can't be seen, so sections are rebuilt every so often
+    private static final long SECTION_LIFETIME = 1200L;
+
+    private static final Map<World, SolidVoxelCache> CACHES = Maps.newIdentityHashMap();
+
+    private final World world;
+    private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<Section>();
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+    // most queries land in the same section as the previous one
+    private long lastKey = Long.MIN_VALUE;
+    private Section lastSection;
+
+    private SolidVoxelCache(World world)
+    {
+        this.world = world;
+    }
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            CACHES.put(world, new SolidVoxelCache(world));
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        CACHES.remove(world);
+    }
+
+    // returns null for worlds without a cache (client worlds), callers should fall back to querying the world
+    public static SolidVoxelCache forWorld(World world)
+    {
+        return CACHES.get(world);
+    }
+
+    public int getVoxel(int x, int y, int z)
+    {
+        if (y < 0 || y >= 256)
+        {
+            return EMPTY;
+        }
+
+        Section section = this.getSection(x >> 4, y >> 4, z >> 4);
+
+        if (section == null)
+        {
+            return EMPTY;
+        }
+
+        int index = index(x & 15, y & 15, z & 15);
+
+        if ((section.solid[index >>> 6] & (1L << index)) == 0L)
+        {
+            return EMPTY;
+        }
+
+        return (section.full[index >>> 6] & (1L << index)) != 0L ? FULL : PARTIAL;
+    }
+
+    // the 16 blocks of one x row of a section, solid bits in the low 16 bits and full cube bits in the high 16
+    public int getRow(int sectionX, int y, int z)
+    {
+        if (y < 0 || y >= 256)
+        {
+            return 0;
+        }
+
+        Section section = this.getSection(sectionX, y >> 4, z >> 4);
+
+        if (section == null)
+        {
+            return 0;
+        }
+
+        int index = index(0, y & 15, z & 15);
+        int shift = index & 63;
+        return (int)((section.solid[index >>> 6] >>> shift) & 0xFFFFL) | (int)((section.full[index >>> 6] >>> shift) & 0xFFFFL) << 16;
+    }
+
+    // keep the bit for a single block in step with the world, if we've built its section
+    public void onBlockChanged(BlockPos changedPos, IBlockState newState)
+    {
+        if (changedPos.getY() < 0 || changedPos.getY() >= 256)
+        {
+            return;
+        }
+
+        Section section = this.sections.get(sectionKey(changedPos.getX() >> 4, changedPos.getY() >> 4, changedPos.getZ() >> 4));
+
+        if (section != null)
+        {
+            section.set(index(changedPos.getX() & 15, changedPos.getY() & 15, changedPos.getZ() & 15), this.classify(newState, changedPos));
+        }
+    }
+
+    public void invalidateChunk(int chunkX, int chunkZ)
+    {
+        for (int sectionY = 0; sectionY < 16; ++sectionY)
+        {
+            this.sections.remove(sectionKey(chunkX, sectionY, chunkZ));
+        }
+
+        this.lastKey = Long.MIN_VALUE;
+        this.lastSection = null;
+    }
+
+    private Section getSection(int sectionX, int sectionY, int sectionZ)
+    {
+        long key = sectionKey(sectionX, sectionY, sectionZ);
+        long now = this.world.getTotalWorldTime();
+
+        if (key == this.lastKey && this.lastSection != null && now - this.lastSection.builtAt < SECTION_LIFETIME)
+        {
+            return this.lastSection;
+        }
+
+        Section section = this.sections.get(key);
+
+        if (section == null || now - section.builtAt >= SECTION_LIFETIME)
+        {
+            Chunk chunk = this.world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+
+            if (chunk == null)
+            {
+                return null;
+            }
+
+            section = this.buildSection(chunk, sectionY, now);
+            this.sections.put(key, section);
+        }
+
+        this.lastKey = key;
+        this.lastSection = section;
+        return section;
+    }
+
+    private Section buildSection(Chunk chunk, int sectionY, long now)
+    {
+        Section section = new Section(now);
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+
+        // an empty section is all air, leave every bit clear
+        if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty())
+        {
+            return section;
+        }
+
+        int baseX = chunk.x << 4;
+        int baseY = sectionY << 4;
+        int baseZ = chunk.z << 4;
+
+        for (int y = 0; y < 16; ++y)
+        {
+            for (int z = 0; z < 16; ++z)
+            {
+                for (int x = 0; x < 16; ++x)
+                {
+                    IBlockState state = storage.get(x, y, z);
+
+                    if (state.getBlock() != Blocks.AIR)
+                    {
+                        this.pos.setPos(baseX + x, baseY + y, baseZ + z);
+                        section.set(index(x, y, z), this.classify(state, this.pos));
+                    }
+                }
+            }
+        }
+
+        return section;
+    }
+
+    private int classify(IBlockState state, BlockPos statePos)
+    {
+        AxisAlignedBB collisionBox = state.getCollisionBoundingBox(this.world, statePos);
+
+        if (collisionBox == Block.NULL_AABB)
+        {
+            return EMPTY;
+        }
+
+        // stairs, cauldrons and the like have a full bounding box but collide with several smaller boxes
+        if (!state.isFullCube())
+        {
+            return PARTIAL;
+        }
+
+        if (collisionBox == Block.FULL_BLOCK_AABB || (collisionBox.minX == 0.0D && collisionBox.minY == 0.0D && collisionBox.minZ == 0.0D && collisionBox.maxX == 1.0D && collisionBox.maxY == 1.0D && collisionBox.maxZ == 1.0D))
+        {
+            return FULL;
+        }
+
+        return PARTIAL;
+    }
+
+    private static int index(int x, int y, int z)
+    {
+        return y << 8 | z << 4 | x;
+    }
+
+    private static long sectionKey(int sectionX, int sectionY, int sectionZ)
+    {
+        return ((long)sectionX & 0x3FFFFFFL) << 38 | ((long)sectionZ & 0x3FFFFFFL) << 12 | ((long)sectionY & 0xFFFL);
+    }
+
+    private static class Section
+    {
+        private final long[] solid = new long[64];
+        private final long[] full = new long[64];
+        private final long builtAt;
+
+        private Section(long builtAt)
+        {
+            this.builtAt = builtAt;
+        }
+
+        private void set(int index, int voxel)
+        {
+            long bit = 1L << index;
+
+            if (voxel == EMPTY)
+            {
+                this.solid[index >>> 6] &= ~bit;
+            }
+            else
+            {
+                this.solid[index >>> 6] |= bit;
+            }
+
+            if (voxel == FULL)
+            {
+                this.full[index >>> 6] |= bit;
+            }
+            else
+            {
+                this.full[index >>> 6] &= ~bit;
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package familiarfauna.util.collision;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Sweeps an axis aligned box along a straight line through the block grid and reports whether anything solid is in the way.
+// Each block cell the moving box touches is visited exactly once, in the order the leading faces of the box reach it,
+// so a path check costs one block state lookup per cell rather than one World.getCollisionBoxes list per sample.
+// Where the world has a SolidVoxelCache, empty and full cube cells are answered from its bits without touching the world.
+// Like World.getCollisionBoxes, cells are visited one lower than the box reaches, for fences and walls whose boxes stand
+// up into the cell above. Other partial shapes are taken as their single collision bounding box, so a stair blocks its
+// whole cell, empty corner included. Nothing is allocated per call.
+// The sweep is continuous, so it also blocks on corners that sampling the path at intervals would step over.
+// Instances hold scratch state and are not thread safe - give each user its own tracer.
+public class SweptBoxTracer
+{
+    // keeps the slab extents slightly conservative, the exact sweep test below throws away any extra cells
+    private static final double EPSILON = 1.0E-7D;
+
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    private SolidVoxelCache cache;
+    private CollisionSnapshot snapshot;
+
+    // how many cells were looked up in the snapshot, and how many needed a block state from the world, since the last resetCounts
+    public int snapshotReads;
+    public int worldReads;
+
+    // the box at the start of the current sweep, and the unit direction it moves in
+    private double minX;
+    private double minY;
+    private double minZ;
+    private double maxX;
+    private double maxY;
+    private double maxZ;
+    // the bottom of the box as far as choosing cells goes, a block below the real one
+    private double cellMinY;
+    private double aimX;
+    private double aimY;
+    private double aimZ;
+
+    // sweep box along the unit vector (aimX, aimY, aimZ) from distance 'from' to distance 'to', returns true if nothing solid is hit
+    // like World.getCollisionBoxes, blocks in unloaded chunks are treated as empty
+    public boolean isSweepClear(World world, AxisAlignedBB box, double aimX, double aimY, double aimZ, double from, double to)
+    {
+        return this.isSweepClear(world, null, box, aimX, aimY, aimZ, from, to);
+    }
+
+    // as above, but cells inside the snapshot's region are answered from it
+    public boolean isSweepClear(World world, CollisionSnapshot snapshot, AxisAlignedBB box, double aimX, double aimY, double aimZ, double from, double to)
+    {
+        this.cache = SolidVoxelCache.forWorld(world);
+        this.snapshot = snapshot;
+        this.minX = box.minX + aimX * from;
+        this.minY = box.minY + aimY * from;
+        this.minZ = box.minZ + aimZ * from;
+        this.maxX = box.maxX + aimX * from;
+        this.maxY = box.maxY + aimY * from;
+        this.maxZ = box.maxZ + aimZ * from;
+        this.cellMinY = this.minY - 1.0D;
+        this.aimX = aimX;
+        this.aimY = aimY;
+        this.aimZ = aimZ;
+
+        double length = Math.max(to - from, 0.0D);
+
+        // everything the box already overlaps where the sweep starts
+        if (this.isRegionBlocked(world, MathHelper.floor(this.minX), MathHelper.ceil(this.maxX) - 1, MathHelper.floor(this.cellMinY), MathHelper.ceil(this.maxY) - 1, MathHelper.floor(this.minZ), MathHelper.ceil(this.maxZ) - 1, 0.0D, length))
+        {
+            return false;
+        }
+
+        // for each axis, the next column of cells the leading face will enter and the distance along the sweep at which it does so
+        int stepX = aimX > 0.0D ? 1 : (aimX < 0.0D ? -1 : 0);
+        int stepY = aimY > 0.0D ? 1 : (aimY < 0.0D ? -1 : 0);
+        int stepZ = aimZ > 0.0D ? 1 : (aimZ < 0.0D ? -1 : 0);
+
+        int cellX = stepX > 0 ? MathHelper.ceil(this.maxX) : MathHelper.floor(this.minX) - 1;
+        int cellY = stepY > 0 ? MathHelper.ceil(this.maxY) : MathHelper.floor(this.cellMinY) - 1;
+        int cellZ = stepZ > 0 ? MathHelper.ceil(this.maxZ) : MathHelper.floor(this.minZ) - 1;
+
+        double nextX = stepX == 0 ? Double.POSITIVE_INFINITY : ((stepX > 0 ? cellX - this.maxX : cellX + 1 - this.minX) / aimX);
+        double nextY = stepY == 0 ? Double.POSITIVE_INFINITY : ((stepY > 0 ? cellY - this.maxY : cellY + 1 - this.cellMinY) / aimY);
+        double nextZ = stepZ == 0 ? Double.POSITIVE_INFINITY : ((stepZ > 0 ? cellZ - this.maxZ : cellZ + 1 - this.minZ) / aimZ);
+
+        double deltaX = stepX == 0 ? Double.POSITIVE_INFINITY : 1.0D / Math.abs(aimX);
+        double deltaY = stepY == 0 ? Double.POSITIVE_INFINITY : 1.0D / Math.abs(aimY);
+        double deltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : 1.0D / Math.abs(aimZ);
+
+        while (true)
+        {
+            if (nextX <= nextY && nextX <= nextZ)
+            {
+                if (nextX > length) {break;}
+
+                if (this.isRegionBlocked(world, cellX, cellX, this.lowCell(this.cellMinY, aimY, nextX), this.highCell(this.maxY, aimY, nextX), this.lowCell(this.minZ, aimZ, nextX), this.highCell(this.maxZ, aimZ, nextX), nextX, length))
+                {
+                    return false;
+                }
+
+                cellX += stepX;
+                nextX += deltaX;
+            }
+            else if (nextY <= nextZ)
+            {
+                if (nextY > length) {break;}
+
+                if (this.isRegionBlocked(world, this.lowCell(this.minX, aimX, nextY), this.highCell(this.maxX, aimX, nextY), cellY, cellY, this.lowCell(this.minZ, aimZ, nextY), this.highCell(this.maxZ, aimZ, nextY), nextY, length))
+                {
+                    return false;
+                }
+
+                cellY += stepY;
+                nextY += deltaY;
+            }
+            else
+            {
+                if (nextZ > length) {break;}
+
+                if (this.isRegionBlocked(world, this.lowCell(this.minX, aimX, nextZ), this.highCell(this.maxX, aimX, nextZ), this.lowCell(this.cellMinY, aimY, nextZ), this.highCell(this.maxY, aimY, nextZ), cellZ, cellZ, nextZ, length))
+                {
+                    return false;
+                }
+
+                cellZ += stepZ;
+                nextZ += deltaZ;
+            }
+        }
+
+        return true;
+    }
+
+    public void resetCounts()
+    {
+        this.snapshotReads = 0;
+        this.worldReads = 0;
+    }
+
+    private int lowCell(double min, double aim, double t)
+    {
+        return MathHelper.floor(min + aim * t - EPSILON);
+    }
+
+    private int highCell(double max, double aim, double t)
+    {
+        return MathHelper.ceil(max + aim * t + EPSILON) - 1;
+    }
+
+    private boolean isRegionBlocked(World world, int x0, int x1, int y0, int y1, int z0, int z1, double tStart, double tEnd)
+    {
+        for (int x = x0; x <= x1; ++x)
+        {
+            for (int z = z0; z <= z1; ++z)
+            {
+                for (int y = y0; y <= y1; ++y)
+                {
+                    if (this.isCellBlocked(world, x, y, z, tStart, tEnd))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isCellBlocked(World world, int x, int y, int z, double tStart, double tEnd)
+    {
+        if (y < 0 || y >= world.getHeight())
+        {
+            return false;
+        }
+
+        int voxel = this.snapshot != null ? this.snapshot.getVoxel(x, y, z) : CollisionSnapshot.OUTSIDE;
+
+        if (voxel != CollisionSnapshot.OUTSIDE)
+        {
+            ++this.snapshotReads;
+        }
+        else if (this.cache != null)
+        {
+            voxel = this.cache.getVoxel(x, y, z);
+        }
+
+        if (voxel != CollisionSnapshot.OUTSIDE)
+        {
+            switch (voxel)
+            {
+                case SolidVoxelCache.EMPTY:
+                    return false;
+                case SolidVoxelCache.FULL:
+                    return this.sweepHits(x, y, z, x + 1, y + 1, z + 1, tStart, tEnd);
+                default:
+                    // partial shapes (slabs, fences, etc.) still need their real box
+                    break;
+            }
+        }
+
+        this.pos.setPos(x, y, z);
+
+        if (!world.isBlockLoaded(this.pos))
+        {
+            return false;
+        }
+
+        ++this.worldReads;
+        IBlockState state = world.getBlockState(this.pos);
+        AxisAlignedBB collisionBox = state.getCollisionBoundingBox(world, this.pos);
+
+        if (collisionBox == Block.NULL_AABB)
+        {
+            return false;
+        }
+
+        // walls and gates already give their 1.5 high box here, fences only add theirs in addCollisionBoxToList
+        double boxMaxY = state.getBlock() instanceof BlockFence ? 1.5D : collisionBox.maxY;
+        return this.sweepHits(x + collisionBox.minX, y + collisionBox.minY, z + collisionBox.minZ, x + collisionBox.maxX, y + boxMaxY, z + collisionBox.maxZ, tStart, tEnd);
+    }
+
+    // does the moving box overlap the given (world space) box at any distance between tStart and tEnd?
+    // overlap is strict, matching AxisAlignedBB.intersects, so merely touching a face doesn't count
+    private boolean sweepHits(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ, double tStart, double tEnd)
+    {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        if (this.aimX == 0.0D)
+        {
+            if (this.maxX <= boxMinX || this.minX >= boxMaxX) {return false;}
+        }
+        else
+        {
+            double t0 = (boxMinX - this.maxX) / this.aimX;
+            double t1 = (boxMaxX - this.minX) / this.aimX;
+            enter = Math.max(enter, Math.min(t0, t1));
+            exit = Math.min(exit, Math.max(t0, t1));
+        }
+
+        if (this.aimY == 0.0D)
+        {
+            if (this.maxY <= boxMinY || this.minY >= boxMaxY) {return false;}
+        }
+        else
+        {
+            double t0 = (boxMinY - this.maxY) / this.aimY;
+            double t1 = (boxMaxY - this.minY) / this.aimY;
+            enter = Math.max(enter, Math.min(t0, t1));
+            exit = Math.min(exit, Math.max(t0, t1));
+        }
+
+        if (this.aimZ == 0.0D)
+        {
+            if (this.maxZ <= boxMinZ || this.minZ >= boxMaxZ) {return false;}
+        }
+        else
+        {
+            double t0 = (boxMinZ - this.maxZ) / this.aimZ;
+            double t1 = (boxMaxZ - this.minZ) / this.aimZ;
+            enter = Math.max(enter, Math.min(t0, t1));
+            exit = Math.min(exit, Math.max(t0, t1));
+        }
+
+        return enter < exit && enter < tEnd && exit > tStart;
+    }
+}
@@ -0,0 +1,209 @@
+package familiarfauna.util.population;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityDeer;
+import familiarfauna.entities.EntityTurkey;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// Finds the deer and turkey packed into pens. At the start of every world tick our land animals are bucketed by
+// chunk, and those in chunks holding at least the configured crowd threshold are in crowd mode until the next tick.
+// Crowded animals are also bucketed by block column, so each can push itself apart from the few others that could
+// be touching it (see separate) instead of running collideWithNearbyEntities' entity search, which in a full pen
+// makes every animal look at every other. EntityAICrowdThrottle slows their AI down as well.
+public class CrowdGrid
+{
+    private static final int CHUNK_SHIFT = 4;
+
+    private static final Map<World, CrowdGrid> GRIDS = Maps.newIdentityHashMap();
+
+    // running total for /familiarfauna stats
+    public static long pairsChecked;
+
+    private final Long2ObjectMap<List<EntityLiving>> chunks = new Long2ObjectOpenHashMap<List<EntityLiving>>();
+    private final Long2ObjectMap<List<EntityLiving>> columns = new Long2ObjectOpenHashMap<List<EntityLiving>>();
+    private final Set<Entity> crowded = new ReferenceOpenHashSet<Entity>();
+    // emptied lists, kept for reuse by the next rebuild
+    private final List<List<EntityLiving>> spareLists = new ArrayList<List<EntityLiving>>();
+
+    private int total;
+    private int crowdedChunks;
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            GRIDS.put(world, new CrowdGrid());
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        GRIDS.remove(world);
+    }
+
+    // returns null for worlds without a grid (client worlds)
+    public static CrowdGrid forWorld(World world)
+    {
+        return GRIDS.get(world);
+    }
+
+    public static boolean isCrowded(Entity entity)
+    {
+        CrowdGrid grid = forWorld(entity.world);
+        return grid != null && grid.contains(entity);
+    }
+
+    public boolean contains(Entity entity)
+    {
+        return this.crowded.contains(entity);
+    }
+
+    // called at the start of every world tick, before any entity is updated
+    public void rebuild(World world)
+    {
+        this.recycle(this.chunks);
+        this.recycle(this.columns);
+        this.crowded.clear();
+        this.total = 0;
+        this.crowdedChunks = 0;
+
+        int threshold = ConfigurationHandler.crowdThreshold;
+
+        if (threshold <= 0)
+        {
+            return;
+        }
+
+        List<Entity> entities = world.loadedEntityList;
+
+        for (int i = 0; i < entities.size(); ++i)
+        {
+            Entity entity = entities.get(i);
+
+            if ((entity instanceof EntityDeer || entity instanceof EntityTurkey) && !entity.isDead)
+            {
+                this.add(this.chunks, key(MathHelper.floor(entity.posX) >> CHUNK_SHIFT, MathHelper.floor(entity.posZ) >> CHUNK_SHIFT), (EntityLiving)entity);
+                ++this.total;
+            }
+        }
+
+        for (List<EntityLiving> chunk : this.chunks.values())
+        {
+            if (chunk.size() < threshold)
+            {
+                continue;
+            }
+
+            ++this.crowdedChunks;
+
+            for (int i = 0; i < chunk.size(); ++i)
+            {
+                EntityLiving entity = chunk.get(i);
+                this.crowded.add(entity);
+                this.add(this.columns, key(MathHelper.floor(entity.posX), MathHelper.floor(entity.posZ)), entity);
+            }
+        }
+    }
+
+    // collideWithNearbyEntities for a crowded animal, against the other crowded animals in the block columns around it.
+    // Our animals are at most a block wide, so nothing further away can be touching it.
+    public void separate(EntityLiving entity)
+    {
+        AxisAlignedBB box = entity.getEntityBoundingBox();
+        int columnX = MathHelper.floor(entity.posX);
+        int columnZ = MathHelper.floor(entity.posZ);
+        int touching = 0;
+
+        for (int x = columnX - 1; x <= columnX + 1; ++x)
+        {
+            for (int z = columnZ - 1; z <= columnZ + 1; ++z)
+            {
+                List<EntityLiving> column = this.columns.get(key(x, z));
+
+                if (column == null)
+                {
+                    continue;
+                }
+
+                for (int i = 0; i < column.size(); ++i)
+                {
+                    EntityLiving other = column.get(i);
+                    ++pairsChecked;
+
+                    if (other != entity && !other.isDead && box.intersects(other.getEntityBoundingBox()))
+                    {
+                        ++touching;
+                        entity.applyEntityCollision(other);
+                    }
+                }
+            }
+        }
+
+        // the same cramming damage collideWithNearbyEntities deals
+        int maxCramming = entity.world.getGameRules().getInt("maxEntityCramming");
+
+        if (maxCramming > 0 && touching >= maxCramming && entity.getRNG().nextInt(4) == 0)
+        {
+            entity.attackEntityFrom(DamageSource.CRAMMING, 6.0F);
+        }
+    }
+
+    public int getTotal()
+    {
+        return this.total;
+    }
+
+    public int getCrowdedCount()
+    {
+        return this.crowded.size();
+    }
+
+    public int getCrowdedChunks()
+    {
+        return this.crowdedChunks;
+    }
+
+    private void add(Long2ObjectMap<List<EntityLiving>> cells, long key, EntityLiving entity)
+    {
+        List<EntityLiving> cell = cells.get(key);
+
+        if (cell == null)
+        {
+            cell = this.spareLists.isEmpty() ? new ArrayList<EntityLiving>() : this.spareLists.remove(this.spareLists.size() - 1);
+            cells.put(key, cell);
+        }
+
+        cell.add(entity);
+    }
+
+    private void recycle(Long2ObjectMap<List<EntityLiving>> cells)
+    {
+        for (List<EntityLiving> cell : cells.values())
+        {
+            cell.clear();
+            this.spareLists.add(cell);
+        }
+
+        cells.clear();
+    }
+
+    private static long key(int x, int z)
+    {
+        return (long)x << 32 | ((long)z & 0xFFFFFFFFL);
+    }
+}
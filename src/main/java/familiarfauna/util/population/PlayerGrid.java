@@ -0,0 +1,163 @@
+package familiarfauna.util.population;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Maps;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// The players of a world bucketed by chunk column, rebuilt at the start of every world tick. Our animals' AI asks it
+// for the closest player around them instead of scanning the world's entity or player lists, so a question about
+// a player 10 blocks away only looks at the players in the few chunks that could hold one.
+public class PlayerGrid
+{
+    private static final int CELL_SHIFT = 4;
+
+    private static final Map<World, PlayerGrid> GRIDS = Maps.newIdentityHashMap();
+
+    // running totals for /familiarfauna stats
+    public static long queries;
+    public static long playersChecked;
+
+    private final Long2ObjectMap<List<EntityPlayer>> cells = new Long2ObjectOpenHashMap<List<EntityPlayer>>();
+    private final List<EntityPlayer> players = new ArrayList<EntityPlayer>();
+    // emptied cell lists, kept for reuse by the next rebuild
+    private final List<List<EntityPlayer>> spareCells = new ArrayList<List<EntityPlayer>>();
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            GRIDS.put(world, new PlayerGrid());
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        GRIDS.remove(world);
+    }
+
+    // returns null for worlds without a grid (client worlds)
+    public static PlayerGrid forWorld(World world)
+    {
+        return GRIDS.get(world);
+    }
+
+    // called at the start of every world tick, before any entity is updated
+    public void rebuild(World world)
+    {
+        for (List<EntityPlayer> cell : this.cells.values())
+        {
+            cell.clear();
+            this.spareCells.add(cell);
+        }
+
+        this.cells.clear();
+        this.players.clear();
+
+        for (int i = 0; i < world.playerEntities.size(); ++i)
+        {
+            EntityPlayer player = world.playerEntities.get(i);
+            this.players.add(player);
+            long key = cellKey(MathHelper.floor(player.posX) >> CELL_SHIFT, MathHelper.floor(player.posZ) >> CELL_SHIFT);
+            List<EntityPlayer> cell = this.cells.get(key);
+
+            if (cell == null)
+            {
+                cell = this.spareCells.isEmpty() ? new ArrayList<EntityPlayer>() : this.spareCells.remove(this.spareCells.size() - 1);
+                this.cells.put(key, cell);
+            }
+
+            cell.add(player);
+        }
+    }
+
+    // every player in the world as of the last rebuild
+    public List<EntityPlayer> getPlayers()
+    {
+        return this.players;
+    }
+
+    // the closest player matching filter within distance blocks of entity, or null
+    public EntityPlayer getClosestPlayer(Entity entity, double distance, Predicate<? super EntityPlayer> filter)
+    {
+        return this.getClosestPlayer(entity, distance, distance, true, filter);
+    }
+
+    // the closest player matching filter no more than horizontal blocks away from entity along x and z and vertical
+    // along y, or null
+    public EntityPlayer getClosestPlayerInBox(Entity entity, double horizontal, double vertical, Predicate<? super EntityPlayer> filter)
+    {
+        return this.getClosestPlayer(entity, horizontal, vertical, false, filter);
+    }
+
+    private EntityPlayer getClosestPlayer(Entity entity, double horizontal, double vertical, boolean sphere, Predicate<? super EntityPlayer> filter)
+    {
+        ++queries;
+
+        if (this.cells.isEmpty())
+        {
+            return null;
+        }
+
+        int minCellX = MathHelper.floor(entity.posX - horizontal) >> CELL_SHIFT;
+        int maxCellX = MathHelper.floor(entity.posX + horizontal) >> CELL_SHIFT;
+        int minCellZ = MathHelper.floor(entity.posZ - horizontal) >> CELL_SHIFT;
+        int maxCellZ = MathHelper.floor(entity.posZ + horizontal) >> CELL_SHIFT;
+        EntityPlayer closest = null;
+        double closestDistance = sphere ? horizontal * horizontal : Double.MAX_VALUE;
+
+        for (int cellX = minCellX; cellX <= maxCellX; ++cellX)
+        {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ)
+            {
+                List<EntityPlayer> cell = this.cells.get(cellKey(cellX, cellZ));
+
+                if (cell == null)
+                {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size(); ++i)
+                {
+                    EntityPlayer player = cell.get(i);
+                    ++playersChecked;
+
+                    // the grid is a tick old at most, so skip anyone who has since died or left the world
+                    if (player.isDead || player.world != entity.world)
+                    {
+                        continue;
+                    }
+
+                    if (!sphere && (Math.abs(player.posX - entity.posX) > horizontal || Math.abs(player.posZ - entity.posZ) > horizontal || Math.abs(player.posY - entity.posY) > vertical))
+                    {
+                        continue;
+                    }
+
+                    double distance = entity.getDistanceSq(player);
+
+                    if (distance < closestDistance && filter.apply(player))
+                    {
+                        closest = player;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    private static long cellKey(int cellX, int cellZ)
+    {
+        return (long)cellX << 32 | ((long)cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,185 @@
+package familiarfauna.util.population;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import familiarfauna.config.ConfigurationHandler;
+import familiarfauna.entities.EntityButterfly;
+import familiarfauna.entities.EntityDeer;
+import familiarfauna.entities.EntityDragonfly;
+import familiarfauna.entities.EntityPixie;
+import familiarfauna.entities.EntitySnail;
+import familiarfauna.entities.EntityTurkey;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+// How many of each of our species live in each 64x64 block region of a world, so spawn checks can turn down a
+// crowded spot with one map lookup. Entities are counted as they join the world and uncounted as they leave it
+// (through FFWorldEventListener), and moved between regions by a sweep every REKEY_INTERVAL ticks.
+public class PopulationIndex
+{
+    private static final int SPECIES_COUNT = 6;
+    // regions are 4x4 chunks
+    private static final int REGION_SHIFT = 6;
+    private static final int REKEY_INTERVAL = 100;
+
+    private static final Map<World, PopulationIndex> INDEXES = Maps.newIdentityHashMap();
+
+    // running total for /familiarfauna stats
+    public static long spawnsRejected;
+
+    private final Long2ObjectMap<int[]> counts = new Long2ObjectOpenHashMap<int[]>();
+    // the region each counted entity was last counted in
+    private final Object2LongMap<Entity> regions = new Object2LongOpenHashMap<Entity>();
+
+    public static void onWorldLoad(World world)
+    {
+        if (!world.isRemote)
+        {
+            INDEXES.put(world, new PopulationIndex());
+        }
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        INDEXES.remove(world);
+    }
+
+    // returns null for worlds without an index (client worlds)
+    public static PopulationIndex forWorld(World world)
+    {
+        return INDEXES.get(world);
+    }
+
+    // true if the region around the entity already holds the configured maximum of its species
+    public static boolean isCrowded(Entity entity)
+    {
+        PopulationIndex index = forWorld(entity.world);
+        int species = getSpecies(entity);
+
+        if (index == null || species < 0 || ConfigurationHandler.populationCap <= 0)
+        {
+            return false;
+        }
+
+        int[] regionCounts = index.counts.get(regionKey(entity));
+
+        if (regionCounts != null && regionCounts[species] >= ConfigurationHandler.populationCap)
+        {
+            ++spawnsRejected;
+            return true;
+        }
+
+        return false;
+    }
+
+    public void add(Entity entity)
+    {
+        int species = getSpecies(entity);
+
+        if (species < 0 || this.regions.containsKey(entity))
+        {
+            return;
+        }
+
+        long key = regionKey(entity);
+        this.regions.put(entity, key);
+        this.change(key, species, 1);
+    }
+
+    public void remove(Entity entity)
+    {
+        if (this.regions.containsKey(entity))
+        {
+            this.change(this.regions.removeLong(entity), getSpecies(entity), -1);
+        }
+    }
+
+    // called every world tick, moves entities that have wandered into another region
+    public void update(World world)
+    {
+        if (world.getTotalWorldTime() % REKEY_INTERVAL != 0)
+        {
+            return;
+        }
+
+        for (Object2LongMap.Entry<Entity> entry : this.regions.object2LongEntrySet())
+        {
+            long key = regionKey(entry.getKey());
+
+            if (key != entry.getLongValue())
+            {
+                int species = getSpecies(entry.getKey());
+                this.change(entry.getLongValue(), species, -1);
+                this.change(key, species, 1);
+                entry.setValue(key);
+            }
+        }
+    }
+
+    public int getRegionCount()
+    {
+        return this.counts.size();
+    }
+
+    public int getTotal()
+    {
+        return this.regions.size();
+    }
+
+    private void change(long key, int species, int amount)
+    {
+        int[] regionCounts = this.counts.get(key);
+
+        if (regionCounts == null)
+        {
+            regionCounts = new int[SPECIES_COUNT];
+            this.counts.put(key, regionCounts);
+        }
+
+        regionCounts[species] += amount;
+
+        // drop regions that have emptied so the map only holds inhabited ones
+        if (amount < 0 && isEmpty(regionCounts))
+        {
+            this.counts.remove(key);
+        }
+    }
+
+    private static boolean isEmpty(int[] regionCounts)
+    {
+        for (int count : regionCounts)
+        {
+            if (count != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long regionKey(Entity entity)
+    {
+        int regionX = MathHelper.floor(entity.posX) >> REGION_SHIFT;
+        int regionZ = MathHelper.floor(entity.posZ) >> REGION_SHIFT;
+        return (long)regionX << 32 | ((long)regionZ & 0xFFFFFFFFL);
+    }
+
+    private static int getSpecies(Entity entity)
+    {
+        if (entity instanceof EntityButterfly) return 0;
+        if (entity instanceof EntityDeer) return 1;
+        if (entity instanceof EntityDragonfly) return 2;
+        if (entity instanceof EntityPixie) return 3;
+        if (entity instanceof EntitySnail) return 4;
+        if (entity instanceof EntityTurkey) return 5;
+        return -1;
+    }
+}